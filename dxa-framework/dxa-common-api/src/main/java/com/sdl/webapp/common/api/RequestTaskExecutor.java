@@ -0,0 +1,31 @@
+package com.sdl.webapp.common.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Executor for tasks that are part of handling the current request, such as fetching include pages or the navigation
+ * model while a page is being built.
+ * <p/>
+ * Tasks run with a copy of the request attributes of the submitting thread, taken when the task is submitted, so that
+ * they can use request-scoped beans like {@link WebRequestContext}; those beans must therefore be safe for use by
+ * several threads. Tasks do not share the servlet request itself, and attributes that a task sets are not seen by the
+ * request. When concurrent execution is disabled, or when a task is submitted from within another task, the task runs
+ * immediately in the calling thread; the returned future is then already done.
+ */
+public interface RequestTaskExecutor {
+
+    /**
+     * @return {@code true} if submitted tasks may run concurrently with the calling thread, {@code false} otherwise.
+     */
+    boolean isConcurrent();
+
+    /**
+     * Submits a task.
+     *
+     * @param task The task.
+     * @param <T>  The type of the result of the task.
+     * @return A future for the result of the task.
+     */
+    <T> Future<T> submit(Callable<T> task);
+}
@@ -0,0 +1,18 @@
+package com.sdl.webapp.common.api.content;
+
+import com.sdl.webapp.common.api.localization.Localization;
+
+import java.util.List;
+
+/**
+ * Region builder callback that can prepare building the entities of a source list. A {@code RegionBuilder} calls
+ * {@link #prefetch(List, Localization)} on callbacks that implement this interface.
+ */
+public interface PrefetchingRegionBuilderCallback extends RegionBuilderCallback {
+
+    /**
+     * Prepare building the entities of a source list, for example by fetching the content they need in bulk. This is
+     * called once, before any entity of the source list is built.
+     */
+    void prefetch(List<?> sourceList, Localization localization) throws ContentProviderException;
+}
@@ -0,0 +1,19 @@
+package com.sdl.webapp.common.api.content;
+
+/**
+ * Publication change tracker. Keeps track of when content of a localization was last published, so that output that
+ * is derived from the published content (for example rendered pages) can be discarded when something is published.
+ * <p/>
+ * Unpublishing is not necessarily noticed, so derived output should still be kept for a limited time only.
+ */
+public interface PublicationChangeTracker {
+
+    /**
+     * Gets the time at which content of a localization was last found to be published.
+     *
+     * @param localizationId The localization ID.
+     * @return The time in milliseconds since the epoch, or {@code 0} if no publishing has been noticed since the
+     * tracker started tracking the localization.
+     */
+    long getLastPublished(String localizationId);
+}
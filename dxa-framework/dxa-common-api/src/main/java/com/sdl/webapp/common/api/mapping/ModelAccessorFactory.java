@@ -0,0 +1,63 @@
+package com.sdl.webapp.common.api.mapping;
+
+import java.lang.reflect.Field;
+
+/**
+ * Creates the accessors that are used to instantiate view models and to set their fields while mapping them.
+ * <p/>
+ * Accessors are created once per class or field and are meant to be reused; they avoid the access checks that are
+ * done on each call of {@link Class#newInstance()} and {@link Field#set(Object, Object)}.
+ */
+public interface ModelAccessorFactory {
+
+    /**
+     * Gets an instantiator that calls the no-argument constructor of a class.
+     *
+     * @param type The class to instantiate.
+     * @param <T>  The type of the instances.
+     * @return The instantiator.
+     * @throws ReflectiveOperationException If the class cannot be instantiated with a no-argument constructor.
+     */
+    <T> Instantiator<T> getInstantiator(Class<T> type) throws ReflectiveOperationException;
+
+    /**
+     * Gets a setter for a field.
+     *
+     * @param field The field.
+     * @return The setter.
+     * @throws IllegalAccessException If the field cannot be set.
+     */
+    FieldSetter getFieldSetter(Field field) throws IllegalAccessException;
+
+    /**
+     * Creates instances of a class.
+     *
+     * @param <T> The type of the instances.
+     */
+    interface Instantiator<T> {
+
+        /**
+         * Creates a new instance.
+         *
+         * @return The new instance.
+         * @throws ReflectiveOperationException If the constructor throws a checked exception.
+         */
+        T newInstance() throws ReflectiveOperationException;
+    }
+
+    /**
+     * Sets the value of a field.
+     */
+    interface FieldSetter {
+
+        /**
+         * Sets the value of the field of an object.
+         *
+         * @param target The object.
+         * @param value  The value.
+         * @throws IllegalArgumentException If the value is not of the type of the field, or the object does not have
+         *                                  the field.
+         */
+        void set(Object target, Object value);
+    }
+}
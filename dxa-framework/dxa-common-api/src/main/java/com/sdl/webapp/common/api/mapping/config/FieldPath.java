@@ -1,10 +1,22 @@
 package com.sdl.webapp.common.api.mapping.config;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
 public final class FieldPath {
 
+    private static final Splitter PATH_SPLITTER = Splitter.on('/');
+
     private final String head;
     private final FieldPath tail;
 
+    /**
+     * The names of the fields on the path, worked out once so that the path can be followed without slicing it.
+     */
+    private final List<String> segments;
+
     public FieldPath(String path) {
         if (path.startsWith("/")) {
             path = path.substring(1);
@@ -18,6 +30,7 @@ public final class FieldPath {
             this.head = path.substring(0, i);
             this.tail = new FieldPath(path.substring(i));
         }
+        this.segments = ImmutableList.copyOf(PATH_SPLITTER.split(path));
     }
 
     public String getHead() {
@@ -32,6 +45,16 @@ public final class FieldPath {
         return tail != null;
     }
 
+    /**
+     * Gets the names of the fields on this path, starting with the head. Segment {@code n} is the head of the path
+     * that is left after taking the tail {@code n} times.
+     *
+     * @return The names of the fields on this path.
+     */
+    public List<String> getSegments() {
+        return segments;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
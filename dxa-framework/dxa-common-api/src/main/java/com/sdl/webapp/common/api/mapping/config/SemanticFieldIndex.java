@@ -0,0 +1,119 @@
+package com.sdl.webapp.common.api.mapping.config;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of a set of semantic fields, including their embedded fields at all levels, for finding the semantic field that
+ * matches given field semantics.
+ * <p/>
+ * A semantic field matches if its semantics are equal to the given field semantics, or if it is a
+ * {@code StandardMetadata} field with the same property name. Within a level, the last match wins; if there is no
+ * match, the embedded fields are searched depth-first. Since the outcome only depends on the semantic fields, it is
+ * worked out in advance for all field semantics that can match, so that looking up a semantic field is a hash lookup.
+ */
+public final class SemanticFieldIndex {
+
+    private static final String STANDARD_METADATA_ENTITY_NAME = "StandardMetadata";
+
+    private final Map<FieldSemantics, SemanticField> byFieldSemantics;
+
+    private final Map<String, SemanticField> byStandardMetadataPropertyName;
+
+    private SemanticFieldIndex(Map<FieldSemantics, SemanticField> byFieldSemantics,
+                               Map<String, SemanticField> byStandardMetadataPropertyName) {
+        this.byFieldSemantics = byFieldSemantics;
+        this.byStandardMetadataPropertyName = byStandardMetadataPropertyName;
+    }
+
+    /**
+     * Creates an index of a set of semantic fields.
+     *
+     * @param semanticFields The semantic fields.
+     * @return The index.
+     */
+    public static SemanticFieldIndex of(Map<FieldSemantics, SemanticField> semanticFields) {
+        final Set<FieldSemantics> allFieldSemantics = new LinkedHashSet<>();
+        final Set<String> standardMetadataPropertyNames = new LinkedHashSet<>();
+        collect(semanticFields, allFieldSemantics, standardMetadataPropertyNames,
+                Collections.newSetFromMap(new IdentityHashMap<Map<?, ?>, Boolean>()));
+
+        final ImmutableMap.Builder<FieldSemantics, SemanticField> byFieldSemantics = ImmutableMap.builder();
+        for (FieldSemantics fieldSemantics : allFieldSemantics) {
+            final SemanticField semanticField = find(semanticFields, fieldSemantics, fieldSemantics.getPropertyName());
+            if (semanticField != null) {
+                byFieldSemantics.put(fieldSemantics, semanticField);
+            }
+        }
+
+        // Field semantics that do not occur in the semantic fields can only match StandardMetadata fields
+        final ImmutableMap.Builder<String, SemanticField> byStandardMetadataPropertyName = ImmutableMap.builder();
+        for (String propertyName : standardMetadataPropertyNames) {
+            final SemanticField semanticField = find(semanticFields, null, propertyName);
+            if (semanticField != null) {
+                byStandardMetadataPropertyName.put(propertyName, semanticField);
+            }
+        }
+
+        return new SemanticFieldIndex(byFieldSemantics.build(), byStandardMetadataPropertyName.build());
+    }
+
+    private static void collect(Map<FieldSemantics, SemanticField> semanticFields,
+                                Set<FieldSemantics> allFieldSemantics, Set<String> standardMetadataPropertyNames,
+                                Set<Map<?, ?>> visited) {
+        if (semanticFields.isEmpty() || !visited.add(semanticFields)) {
+            return;
+        }
+
+        for (Map.Entry<FieldSemantics, SemanticField> entry : semanticFields.entrySet()) {
+            final FieldSemantics fieldSemantics = entry.getKey();
+            allFieldSemantics.add(fieldSemantics);
+            if (STANDARD_METADATA_ENTITY_NAME.equals(fieldSemantics.getEntityName())) {
+                standardMetadataPropertyNames.add(fieldSemantics.getPropertyName());
+            }
+            collect(entry.getValue().getEmbeddedFields(), allFieldSemantics, standardMetadataPropertyNames, visited);
+        }
+    }
+
+    private static SemanticField find(Map<FieldSemantics, SemanticField> semanticFields,
+                                      FieldSemantics fieldSemantics, String propertyName) {
+        SemanticField matchingField = null;
+
+        for (Map.Entry<FieldSemantics, SemanticField> entry : semanticFields.entrySet()) {
+            final FieldSemantics f = entry.getKey();
+            if (f.equals(fieldSemantics) || (STANDARD_METADATA_ENTITY_NAME.equals(f.getEntityName())
+                    && f.getPropertyName().equals(propertyName))) {
+                matchingField = entry.getValue();
+            }
+        }
+
+        if (matchingField == null) {
+            // Search all embedded fields recursively
+            for (SemanticField semanticField : semanticFields.values()) {
+                matchingField = find(semanticField.getEmbeddedFields(), fieldSemantics, propertyName);
+                if (matchingField != null) {
+                    break;
+                }
+            }
+        }
+
+        return matchingField;
+    }
+
+    /**
+     * Finds the semantic field that matches the given field semantics.
+     *
+     * @param fieldSemantics The field semantics.
+     * @return The matching semantic field, or {@code null} if there is no matching semantic field.
+     */
+    public SemanticField find(FieldSemantics fieldSemantics) {
+        final SemanticField semanticField = byFieldSemantics.get(fieldSemantics);
+        return semanticField != null ? semanticField :
+                byStandardMetadataPropertyName.get(fieldSemantics.getPropertyName());
+    }
+}
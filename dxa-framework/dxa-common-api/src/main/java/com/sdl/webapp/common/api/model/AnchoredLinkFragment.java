@@ -0,0 +1,88 @@
+package com.sdl.webapp.common.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Objects;
+
+/**
+ * Rich text fragment for the {@code href} and {@code target} attributes of a link to an anchor on a page. A link to
+ * an anchor on the page that is being rendered only consists of the anchor itself; a link to another page opens that
+ * page in the top window.
+ * <p/>
+ * Since rich text may be part of a model that is shared between requests, whether the link points to the page that
+ * is being rendered is decided when the rich text is rendered, see {@link #toHtml(String)}.
+ */
+public class AnchoredLinkFragment implements RichTextFragment {
+
+    private final String pageUrl;
+
+    private final String anchor;
+
+    /**
+     * @param pageUrl The URL of the page that the link points to.
+     * @param anchor  The anchor, including the leading {@code #}, or an empty string if there is no anchor.
+     */
+    public AnchoredLinkFragment(String pageUrl, String anchor) {
+        this.pageUrl = pageUrl;
+        this.anchor = anchor;
+    }
+
+    /**
+     * Renders the attributes of the link for a page other than the page that the link points to.
+     *
+     * @return The {@code href} and {@code target} attributes.
+     */
+    @Override
+    public String toHtml() {
+        return toHtml(null);
+    }
+
+    /**
+     * Renders the attributes of the link.
+     *
+     * @param currentPageUrl The URL of the page that is being rendered, including the context path, or {@code null}
+     *                       if it is not known.
+     * @return The {@code href} and {@code target} attributes.
+     */
+    public String toHtml(String currentPageUrl) {
+        if (currentPageUrl != null && currentPageUrl.equalsIgnoreCase(pageUrl)) {
+            return "href=\"" + HtmlUtils.htmlEscape(anchor) + "\" target=\"\"";
+        }
+        return "href=\"" + HtmlUtils.htmlEscape(pageUrl + anchor) + "\" target=\"_top\"";
+    }
+
+    @JsonIgnore
+    public String getPageUrl() {
+        return pageUrl;
+    }
+
+    @JsonIgnore
+    public String getAnchor() {
+        return anchor;
+    }
+
+    @JsonProperty("Html")
+    public String getHtml() {
+        return toHtml();
+    }
+
+    @Override
+    public String toString() {
+        return toHtml();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnchoredLinkFragment that = (AnchoredLinkFragment) o;
+        return Objects.equals(pageUrl, that.pageUrl) && Objects.equals(anchor, that.anchor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageUrl, anchor);
+    }
+}
@@ -10,6 +10,7 @@ import com.sdl.webapp.common.util.ApplicationContextHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.method.HandlerMethod;
@@ -19,6 +20,8 @@ import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandl
 import javax.servlet.http.HttpServletRequest;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Abstract superclass for controllers with utility methods and exception handling.
@@ -32,7 +35,12 @@ public abstract class BaseController {
     @Autowired
     private RequestMappingHandlerMapping requestMappingHandlerMapping;
 
-    private static Boolean isCustomAction(MvcData mvcData) {
+    /**
+     * The controllers that enrich entity models, by {@code /area/controller}.
+     */
+    private final ConcurrentMap<String, ControllerReference> controllers = new ConcurrentHashMap<>();
+
+    protected static Boolean isCustomAction(MvcData mvcData) {
         return !Objects.equals(mvcData.getActionName(), "Entity")
                 || !Objects.equals(mvcData.getControllerName(), "Entity")
                 || !Objects.equals(mvcData.getControllerAreaName(), "Core");
@@ -66,6 +74,7 @@ public abstract class BaseController {
     @ExceptionHandler(Exception.class)
     public String handleException(HttpServletRequest request, Exception exception) {
         LOG.error("Exception while processing request for: {}", request.getRequestURL(), exception);
+        OutputCacheControl.disableCaching(request);
         return ControllerUtils.SECTION_ERROR_VIEW;
     }
 
@@ -129,28 +138,71 @@ public abstract class BaseController {
         String controllerName = mvcData.getControllerName() != null ? mvcData.getControllerName() : "Entity";
         String controllerAreaName = mvcData.getControllerAreaName() != null ? mvcData.getControllerAreaName() : "Core";
 
+        final BaseController controller = getController(controllerAreaName, controllerName);
+        if (controller == null) {
+            return entity;
+        }
+
+        try {
+            controller.enrichModel(entity);
+            return entity;
+        } catch (Exception e) {
+            LOG.error("Error in EnrichModel", e);
+            return new ExceptionEntity(e); // TODO: What about MvcData?
+        }
+    }
 
-        Map<RequestMappingInfo, HandlerMethod> handlerMethods =
-                this.requestMappingHandlerMapping.getHandlerMethods();
-
-        for (Map.Entry<RequestMappingInfo, HandlerMethod> item : handlerMethods.entrySet()) {
-            RequestMappingInfo mapping = item.getKey();
-            HandlerMethod method = item.getValue();
-
-            for (String urlPattern : mapping.getPatternsCondition().getPatterns()) {
-                if (urlPattern.contains("/" + controllerAreaName + "/" + controllerName)) {
-                    HandlerMethod controllerMethod = handlerMethods.get(mapping);
-                    BaseController controller = (BaseController) ApplicationContextHolder.getContext().getBean(controllerMethod.getBean().toString());
-                    try {
-                        controller.enrichModel(entity);
-                        return entity;
-                    } catch (Exception e) {
-                        LOG.error("Error in EnrichModel", e);
-                        return new ExceptionEntity(e); // TODO: What about MvcData?
-                    }
+    /**
+     * Gets the controller for an area and controller name: the controller of the first request mapping with a URL
+     * pattern that contains {@code /area/controller}. The handler methods do not change once the application context
+     * has been refreshed, so the controller that is found for an area and controller name is remembered.
+     */
+    private BaseController getController(String controllerAreaName, String controllerName) {
+        final String key = "/" + controllerAreaName + "/" + controllerName;
+        ControllerReference reference = controllers.get(key);
+        if (reference == null) {
+            reference = findController(key);
+            controllers.putIfAbsent(key, reference);
+        }
+        return reference.getController();
+    }
+
+    private ControllerReference findController(String key) {
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> item :
+                this.requestMappingHandlerMapping.getHandlerMethods().entrySet()) {
+            for (String urlPattern : item.getKey().getPatternsCondition().getPatterns()) {
+                if (urlPattern.contains(key)) {
+                    return new ControllerReference(item.getValue().getBean());
                 }
             }
         }
-        return entity;
+        return ControllerReference.NONE;
+    }
+
+    /**
+     * Reference to the controller of a handler method. Singleton controllers are looked up once; other controllers are
+     * looked up by bean name each time they are used, as before.
+     */
+    private static final class ControllerReference {
+        private static final ControllerReference NONE = new ControllerReference(null);
+
+        private final String beanName;
+        private final BaseController controller;
+
+        private ControllerReference(Object handler) {
+            if (handler instanceof String) {
+                final ApplicationContext context = ApplicationContextHolder.getContext();
+                this.beanName = context.isSingleton((String) handler) ? null : (String) handler;
+                this.controller = this.beanName == null ? (BaseController) context.getBean((String) handler) : null;
+            } else {
+                this.beanName = null;
+                this.controller = (BaseController) handler;
+            }
+        }
+
+        public BaseController getController() {
+            return beanName != null ?
+                    (BaseController) ApplicationContextHolder.getContext().getBean(beanName) : controller;
+        }
     }
 }
@@ -3,7 +3,10 @@ package com.sdl.webapp.common.controller;
 import com.google.common.base.Joiner;
 import com.sdl.webapp.common.api.model.EntityModel;
 import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
 import com.sdl.webapp.common.api.model.RegionModel;
+import com.sdl.webapp.common.api.model.RegionModelSet;
+import com.sdl.webapp.common.api.model.entity.ExceptionEntity;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +41,47 @@ public final class ControllerUtils {
         return ControllerUtils.INCLUDE_PATH_PREFIX + ControllerUtils.SECTION_ERROR_VIEW;
     }
 
+    /**
+     * Creates an entity that takes the place of an entity that could not be built or enriched.
+     *
+     * @param exception The exception that occurred.
+     * @return An entity that is rendered as an error section.
+     */
+    public static ExceptionEntity createExceptionEntity(Exception exception) {
+        final ExceptionEntity entity = new ExceptionEntity(exception);
+        // The entity controller throws the exception again, which renders the error section view
+        entity.setMvcData(new MvcDataImpl()
+                .setControllerAreaName(CoreAreaConstants.CORE_AREA_NAME)
+                .setControllerName(CoreAreaConstants.ENTITY_CONTROLLER_NAME)
+                .setActionName(CoreAreaConstants.ENTITY_ACTION_NAME));
+        return entity;
+    }
+
+    /**
+     * Checks if regions contain an entity that could not be built or enriched.
+     *
+     * @param regions The regions, including their nested regions.
+     * @return {@code true} if one of the regions contains an {@code ExceptionEntity}, {@code false} otherwise.
+     */
+    public static boolean containsExceptionEntity(RegionModelSet regions) {
+        if (regions == null) {
+            return false;
+        }
+        for (RegionModel region : regions) {
+            if (region.getEntities() != null) {
+                for (EntityModel entity : region.getEntities()) {
+                    if (entity instanceof ExceptionEntity) {
+                        return true;
+                    }
+                }
+            }
+            if (containsExceptionEntity(region.getRegions())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static String getIncludePathPrefix(MvcData mvcData) {
         return INCLUDE_PATH_PREFIX +
                 mvcData.getControllerAreaName() + "/" +
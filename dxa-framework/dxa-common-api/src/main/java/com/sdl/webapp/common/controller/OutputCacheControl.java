@@ -0,0 +1,72 @@
+package com.sdl.webapp.common.controller;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * Keeps track of whether rendered output may be cached. Code that caches rendered output starts a scope with
+ * {@link #begin(ServletRequest)} before rendering; views and controllers whose output depends on the request, or that
+ * render an error, call {@link #disableCaching(ServletRequest)}, which disables caching for the current scope and all
+ * enclosing scopes.
+ * <p/>
+ * The scope is kept as a mutable object in a request attribute, rather than as a flag in the attribute itself, because
+ * Spring's {@code DispatcherServlet} removes request attributes that were set during an include when the include
+ * returns, so a flag that is set by a view of an entity would be lost.
+ */
+public final class OutputCacheControl {
+
+    private final OutputCacheControl parent;
+
+    private volatile boolean cachingDisabled;
+
+    private OutputCacheControl(OutputCacheControl parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts a scope of output that may be cached.
+     *
+     * @param request The request.
+     * @return The scope; call {@link #end(ServletRequest)} when the output has been rendered.
+     */
+    public static OutputCacheControl begin(ServletRequest request) {
+        final OutputCacheControl scope = new OutputCacheControl(get(request));
+        request.setAttribute(RequestAttributeNames.OUTPUT_CACHE_CONTROL, scope);
+        return scope;
+    }
+
+    /**
+     * Disables caching of the output that is being rendered, and of all output that encloses it.
+     *
+     * @param request The request.
+     */
+    public static void disableCaching(ServletRequest request) {
+        for (OutputCacheControl scope = get(request); scope != null; scope = scope.parent) {
+            scope.cachingDisabled = true;
+        }
+    }
+
+    private static OutputCacheControl get(ServletRequest request) {
+        final Object scope = request.getAttribute(RequestAttributeNames.OUTPUT_CACHE_CONTROL);
+        return scope instanceof OutputCacheControl ? (OutputCacheControl) scope : null;
+    }
+
+    /**
+     * Ends this scope; the enclosing scope becomes the current scope again.
+     *
+     * @param request The request.
+     */
+    public void end(ServletRequest request) {
+        if (parent != null) {
+            request.setAttribute(RequestAttributeNames.OUTPUT_CACHE_CONTROL, parent);
+        } else {
+            request.removeAttribute(RequestAttributeNames.OUTPUT_CACHE_CONTROL);
+        }
+    }
+
+    /**
+     * @return {@code true} if the output of this scope must not be cached, {@code false} otherwise.
+     */
+    public boolean isCachingDisabled() {
+        return cachingDisabled;
+    }
+}
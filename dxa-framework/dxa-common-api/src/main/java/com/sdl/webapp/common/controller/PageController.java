@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
 import com.sdl.webapp.common.api.MediaHelper;
+import com.sdl.webapp.common.api.RequestTaskExecutor;
 import com.sdl.webapp.common.api.WebRequestContext;
 import com.sdl.webapp.common.api.content.ContentProvider;
 import com.sdl.webapp.common.api.content.ContentProviderException;
@@ -48,6 +49,13 @@ import org.springframework.web.util.WebUtils;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.ws.http.HTTPException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.sdl.webapp.common.controller.ControllerUtils.INCLUDE_PATH_PREFIX;
 import static com.sdl.webapp.common.controller.ControllerUtils.SECTION_ERROR_VIEW;
@@ -82,8 +90,14 @@ public class PageController extends BaseController {
     private final DataFormatter dataFormatters;
     @Value("#{environment.getProperty('AllowJsonResponse', 'false')}")
     private boolean allowJsonResponse;
+    @Value("#{environment.getProperty('concurrentEnrichmentEnabled', 'false')}")
+    private boolean concurrentEnrichmentEnabled;
+    @Value("#{environment.getProperty('concurrentEnrichmentTimeout', '10000')}")
+    private long concurrentEnrichmentTimeout;
     @Autowired
     private NavigationProvider navigationProvider;
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
 
     @Autowired
     public PageController(ContentProvider contentProvider, LinkResolver linkResolver, MediaHelper mediaHelper,
@@ -265,7 +279,11 @@ public class PageController extends BaseController {
 	    	res.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
 	        res.close();
         }
-        return isIncludeRequest(request) ? SECTION_ERROR_VIEW : SERVER_ERROR_VIEW;
+        if (isIncludeRequest(request)) {
+            OutputCacheControl.disableCaching(request);
+            return SECTION_ERROR_VIEW;
+        }
+        return SERVER_ERROR_VIEW;
     }
 
     /**
@@ -289,6 +307,10 @@ public class PageController extends BaseController {
     /**
      * Enriches all the Region/Entity Models embedded in the given Page Model.
      * Used by <see cref="FormatDataAttribute"/> to get all embedded Models enriched without rendering any Views.
+     * <p/>
+     * In concurrent enrichment mode, the entities are enriched at the same time on the {@link RequestTaskExecutor},
+     * within a time budget for the whole page; an entity that is not enriched in time is replaced by an
+     * {@code ExceptionEntity}, like an entity for which enrichment fails.
      *
      * @param model The Page Model to enrich.
      */
@@ -297,6 +319,11 @@ public class PageController extends BaseController {
             return;
         }
 
+        if (concurrentEnrichmentEnabled && requestTaskExecutor.isConcurrent()) {
+            enrichEmbeddedModelsConcurrently(model);
+            return;
+        }
+
         for (RegionModel region : model.getRegions()) {
             // NOTE: Currently not enriching the Region Model itself, because we don't support custom Region Controllers (yet).
             for (int i = 0; i < region.getEntities().size(); i++) {
@@ -308,6 +335,58 @@ public class PageController extends BaseController {
         }
     }
 
+    private void enrichEmbeddedModelsConcurrently(PageModel model) {
+        final List<RegionModel> regions = new ArrayList<>();
+        final List<List<Future<EntityModel>>> enrichedEntities = new ArrayList<>();
+        for (RegionModel region : model.getRegions()) {
+            final List<Future<EntityModel>> futures = new ArrayList<>(region.getEntities().size());
+            for (final EntityModel entity : region.getEntities()) {
+                // Entities of the default entity controller are not enriched, so there is no need to submit them
+                if (entity != null && entity.getMvcData() != null && isCustomAction(entity.getMvcData())) {
+                    futures.add(requestTaskExecutor.submit(new Callable<EntityModel>() {
+                        @Override
+                        public EntityModel call() {
+                            return enrichEntityModel(entity);
+                        }
+                    }));
+                } else {
+                    futures.add(null);
+                }
+            }
+            regions.add(region);
+            enrichedEntities.add(futures);
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(concurrentEnrichmentTimeout);
+        for (int r = 0; r < regions.size(); r++) {
+            final List<EntityModel> entities = regions.get(r).getEntities();
+            final List<Future<EntityModel>> futures = enrichedEntities.get(r);
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i) != null) {
+                    entities.set(i, getEnrichedEntity(futures.get(i), deadline));
+                }
+            }
+        }
+    }
+
+    private static EntityModel getEnrichedEntity(Future<EntityModel> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return ControllerUtils.createExceptionEntity(e);
+        } catch (TimeoutException e) {
+            LOG.error("Time budget for enriching the entities of the page exceeded");
+            future.cancel(true);
+            return ControllerUtils.createExceptionEntity(e);
+        } catch (ExecutionException e) {
+            LOG.error("Error in EnrichModel", e.getCause());
+            return ControllerUtils.createExceptionEntity(
+                    e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+    }
+
 
     private boolean isIncludeRequest(HttpServletRequest request) {
         return request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE) != null;
@@ -19,4 +19,6 @@ public interface RequestAttributeNames {
     String SOCIALSHARE_URL = "socialshareUrl";
 
     String CONTEXTENGINE = "contextengine";
+
+    String OUTPUT_CACHE_CONTROL = "outputCacheControl"; // See OutputCacheControl
 }
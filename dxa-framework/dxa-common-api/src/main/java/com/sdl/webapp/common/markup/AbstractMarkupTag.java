@@ -2,11 +2,13 @@ package com.sdl.webapp.common.markup;
 
 import com.sdl.webapp.common.api.WebRequestContext;
 import com.sdl.webapp.common.api.model.ViewModel;
+import com.sdl.webapp.common.controller.OutputCacheControl;
 import com.sdl.webapp.common.markup.html.HtmlNode;
 import com.sdl.webapp.common.markup.html.ParsableHtmlNode;
 import org.springframework.web.context.support.WebApplicationContextUtils;
 
 import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
 import javax.servlet.jsp.tagext.TagSupport;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -21,6 +23,8 @@ public class AbstractMarkupTag extends TagSupport {
 
     private MarkupDecoratorRegistry markupDecoratorRegistry = null;
 
+    private MarkupFragmentCache markupFragmentCache = null;
+
     protected String getDecoratorId() {
         return this.getClass().getSimpleName().replace("Tag", "");
     }
@@ -47,19 +51,40 @@ public class AbstractMarkupTag extends TagSupport {
 
         // TODO: Consider to replace with an annotation instead
 
+        final MarkupFragmentCache fragmentCache = this.getMarkupFragmentCache();
+        final String cacheKey = fragmentCache.getKey(include, model);
+        if (cacheKey != null) {
+            final String cachedHtml = fragmentCache.get(cacheKey);
+            if (cachedHtml != null) {
+                pageContext.getOut().write(cachedHtml);
+                return;
+            }
+        }
+
+        final ServletRequest request = pageContext.getRequest();
+        final long renderStarted = System.currentTimeMillis();
+        final OutputCacheControl outputCacheControl = OutputCacheControl.begin(request);
+
         HtmlNode decoratedMarkup = null;
+        boolean cacheable = false;
         try {
             StringWriter sw = new StringWriter();
             pageContext.pushBody(sw);
-            pageContext.getRequest().setAttribute("ParentModel", model);
+            request.setAttribute("ParentModel", model);
             pageContext.include(include);
             String renderedHtml = sw.toString();
             ParsableHtmlNode markup = new ParsableHtmlNode(renderedHtml);
             decoratedMarkup = this.decorateMarkup(markup, model);
+            cacheable = cacheKey != null && !outputCacheControl.isCachingDisabled();
         } finally {
             pageContext.popBody();
+            outputCacheControl.end(request);
             if (decoratedMarkup != null) {
-                pageContext.getOut().write(decoratedMarkup.toHtml());
+                final String decoratedHtml = decoratedMarkup.toHtml();
+                if (cacheable) {
+                    fragmentCache.put(cacheKey, decoratedHtml, renderStarted);
+                }
+                pageContext.getOut().write(decoratedHtml);
             }
         }
     }
@@ -81,6 +106,14 @@ public class AbstractMarkupTag extends TagSupport {
         return markupDecoratorRegistry;
     }
 
+    protected MarkupFragmentCache getMarkupFragmentCache() {
+        if (markupFragmentCache == null) {
+            markupFragmentCache = WebApplicationContextUtils.getRequiredWebApplicationContext(pageContext.getServletContext())
+                    .getBean(MarkupFragmentCache.class);
+        }
+        return markupFragmentCache;
+    }
+
     protected WebRequestContext getWebRequestContext() {
         return WebApplicationContextUtils.getRequiredWebApplicationContext(pageContext.getServletContext())
                 .getBean(WebRequestContext.class);
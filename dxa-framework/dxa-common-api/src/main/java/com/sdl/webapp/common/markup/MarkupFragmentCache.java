@@ -0,0 +1,41 @@
+package com.sdl.webapp.common.markup;
+
+import com.sdl.webapp.common.api.model.ViewModel;
+
+/**
+ * Cache of rendered markup fragments, used by {@code AbstractMarkupTag} so that views of entities that are shared
+ * between pages, for example in the header and footer, do not have to be rendered for every request.
+ * <p/>
+ * A view that depends on request-specific data can opt out by calling
+ * {@link com.sdl.webapp.common.controller.OutputCacheControl#disableCaching(javax.servlet.ServletRequest)} while it is
+ * rendered; the fragment it is part of is then not cached.
+ */
+public interface MarkupFragmentCache {
+
+    /**
+     * Gets the key of the fragment that is rendered by an include.
+     *
+     * @param include The path that is included.
+     * @param model   The model that is rendered.
+     * @return The key of the fragment, or {@code null} if the fragment should not be cached.
+     */
+    String getKey(String include, ViewModel model);
+
+    /**
+     * Gets a cached fragment.
+     *
+     * @param key The key of the fragment.
+     * @return The markup of the fragment, or {@code null} if there is no cached fragment that can be used.
+     */
+    String get(String key);
+
+    /**
+     * Adds a rendered fragment to the cache.
+     *
+     * @param key           The key of the fragment.
+     * @param markup        The markup of the fragment.
+     * @param renderStarted The time at which rendering the fragment started, in milliseconds since the epoch; content
+     *                      that was published after this time may not be part of the fragment.
+     */
+    void put(String key, String markup, long renderStarted);
+}
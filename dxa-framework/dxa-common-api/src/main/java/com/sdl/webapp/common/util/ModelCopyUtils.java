@@ -0,0 +1,245 @@
+package com.sdl.webapp.common.util;
+
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
+import com.sdl.webapp.common.api.model.PageModel;
+import com.sdl.webapp.common.api.model.RegionModel;
+import com.sdl.webapp.common.api.model.RegionModelSet;
+import com.sdl.webapp.common.api.model.region.RegionModelImpl;
+import com.sdl.webapp.common.api.model.region.RegionModelSetImpl;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Utilities for copying view models.
+ * <p/>
+ * The copies share their field values with the original model, but get their own page metadata, regions and entity
+ * lists, and their own (shallow) entity instances. This is enough to hand out a cached model to a request without the
+ * request-time enrichment done by the controllers changing the cached model.
+ * <p/>
+ * Not every model can be copied: pages and entities need a no-argument constructor, regions must extend
+ * {@link RegionModelImpl} and MVC data must extend {@link MvcDataImpl}. Caches must check this with the
+ * {@code canCopy} methods before storing a model, since the {@code copy} methods throw an exception rather than hand
+ * out the (shared) original.
+ */
+public final class ModelCopyUtils {
+
+    private ModelCopyUtils() {
+    }
+
+    /**
+     * Checks whether a page model, including its regions and entities, can be copied.
+     *
+     * @param pageModel The page model.
+     * @return {@code true} if {@link #copyPageModel(PageModel)} can copy the page model, {@code false} otherwise.
+     */
+    public static boolean canCopyPageModel(PageModel pageModel) {
+        return pageModel == null || (isInstantiable(pageModel.getClass()) && canCopyRegions(pageModel.getRegions()));
+    }
+
+    /**
+     * Checks whether a region model, including its entities and nested regions, can be copied.
+     *
+     * @param region The region model.
+     * @return {@code true} if {@link #copyRegionModel(RegionModel)} can copy the region model, {@code false} otherwise.
+     */
+    public static boolean canCopyRegionModel(RegionModel region) {
+        if (region == null) {
+            return true;
+        }
+        if (!(region instanceof RegionModelImpl) || !hasNameConstructor(region.getClass()) ||
+                !canCopyMvcData(region.getMvcData())) {
+            return false;
+        }
+
+        for (EntityModel entity : region.getEntities()) {
+            if (!canCopyEntityModel(entity)) {
+                return false;
+            }
+        }
+        return canCopyRegions(region.getRegions());
+    }
+
+    /**
+     * Checks whether an entity model can be copied.
+     *
+     * @param entity The entity model.
+     * @return {@code true} if {@link #copyEntityModel(EntityModel)} can copy the entity model, {@code false} otherwise.
+     */
+    public static boolean canCopyEntityModel(EntityModel entity) {
+        return entity == null || isInstantiable(entity.getClass());
+    }
+
+    private static boolean canCopyRegions(RegionModelSet regions) {
+        if (regions != null) {
+            for (RegionModel region : regions) {
+                if (!canCopyRegionModel(region)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean canCopyMvcData(MvcData mvcData) {
+        return mvcData == null || (mvcData instanceof MvcDataImpl && isInstantiable(mvcData.getClass()));
+    }
+
+    /**
+     * Copies a page model, including its regions and entities.
+     *
+     * @param pageModel The page model to copy.
+     * @return A copy of the page model.
+     * @throws IllegalArgumentException If the page model cannot be copied.
+     */
+    public static PageModel copyPageModel(PageModel pageModel) {
+        if (pageModel == null) {
+            return null;
+        }
+
+        final PageModel copy = shallowCopy(pageModel);
+        if (pageModel.getMeta() != null) {
+            copy.setMeta(new HashMap<>(pageModel.getMeta()));
+        }
+        copy.setRegions(copyRegions(pageModel.getRegions()));
+        return copy;
+    }
+
+    /**
+     * Copies a set of regions, including the entities of the regions.
+     *
+     * @param regions The regions to copy.
+     * @return A new set containing copies of the regions.
+     * @throws IllegalArgumentException If one of the regions cannot be copied.
+     */
+    public static RegionModelSet copyRegions(RegionModelSet regions) {
+        if (regions == null) {
+            return null;
+        }
+
+        final RegionModelSet copy = new RegionModelSetImpl();
+        for (RegionModel region : regions) {
+            copy.add(copyRegionModel(region));
+        }
+        return copy;
+    }
+
+    /**
+     * Copies a region model, including its entities and nested regions.
+     * <p/>
+     * Only regions that extend {@link RegionModelImpl} can be copied.
+     *
+     * @param region The region model to copy.
+     * @return A copy of the region model.
+     * @throws IllegalArgumentException If the region model cannot be copied.
+     */
+    public static RegionModel copyRegionModel(RegionModel region) {
+        if (region == null) {
+            return null;
+        }
+        if (!(region instanceof RegionModelImpl)) {
+            throw new IllegalArgumentException("Cannot copy region of type " + region.getClass().getName());
+        }
+
+        final RegionModelImpl copy;
+        try {
+            copy = (RegionModelImpl) region.getClass().getDeclaredConstructor(String.class).newInstance(region.getName());
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot copy region of type " + region.getClass().getName(), e);
+        }
+        ReflectionUtils.shallowCopyFieldState(region, copy);
+        // The route values of a region may be changed while rendering the page (alternate view names)
+        copy.setMvcData(copyMvcData(region.getMvcData()));
+
+        final List<EntityModel> entities = new ArrayList<>(region.getEntities().size());
+        for (EntityModel entity : region.getEntities()) {
+            entities.add(copyEntityModel(entity));
+        }
+        copy.setEntities(entities);
+        copy.setRegions(copyRegions(region.getRegions()));
+        return copy;
+    }
+
+    /**
+     * Copies MVC data, including its route values.
+     * <p/>
+     * Only MVC data that extends {@link MvcDataImpl} can be copied.
+     *
+     * @param mvcData The MVC data to copy.
+     * @return A copy of the MVC data.
+     * @throws IllegalArgumentException If the MVC data cannot be copied.
+     */
+    public static MvcData copyMvcData(MvcData mvcData) {
+        if (mvcData == null) {
+            return null;
+        }
+        if (!(mvcData instanceof MvcDataImpl)) {
+            throw new IllegalArgumentException("Cannot copy MVC data of type " + mvcData.getClass().getName());
+        }
+
+        final MvcDataImpl copy = (MvcDataImpl) shallowCopy(mvcData);
+        if (mvcData.getRouteValues() != null) {
+            copy.setRouteValues(new HashMap<>(mvcData.getRouteValues()));
+        }
+        return copy;
+    }
+
+    /**
+     * Makes a shallow copy of an entity model.
+     *
+     * @param entity The entity model to copy.
+     * @param <T>    The type of the entity model.
+     * @return A copy of the entity model.
+     * @throws IllegalArgumentException If the entity model cannot be copied.
+     */
+    public static <T extends EntityModel> T copyEntityModel(T entity) {
+        if (entity == null) {
+            return null;
+        }
+        return shallowCopy(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T shallowCopy(T source) {
+        final T copy;
+        try {
+            copy = (T) BeanUtils.instantiateClass(source.getClass());
+        } catch (BeanInstantiationException e) {
+            throw new IllegalArgumentException("Cannot copy model of type " + source.getClass().getName(), e);
+        }
+        ReflectionUtils.shallowCopyFieldState(source, copy);
+        return copy;
+    }
+
+    private static boolean isInstantiable(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasNameConstructor(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor(String.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.sdl.webapp.common.util;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent loads of the same value.
+ * <p/>
+ * When several threads ask for the same key at the same time, only the first one actually loads the value; the others
+ * wait for it and get the same value (or the same exception). This prevents the "thundering herd" of identical loads
+ * that otherwise happens when a popular item expires or is republished. Nothing is kept after the load completes, so
+ * this is meant to be used behind a cache.
+ * <p/>
+ * If the thread that is loading a value asks for the same key again (a recursive load), its loader is called
+ * directly instead of waiting for itself.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @param <E> The type of the exception thrown by the loaders.
+ */
+public final class SingleFlight<K, V, E extends Exception> {
+
+    private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a value, or waits for the load of the same key that is already in progress in another thread.
+     *
+     * @param key    The key.
+     * @param loader The loader that loads the value if no load is in progress.
+     * @return The loaded value.
+     * @throws E If the loader (of this or another thread) throws an exception.
+     */
+    public V execute(K key, Loader<? extends V, ? extends E> loader) throws E {
+        final Flight<V> flight = new Flight<>();
+        final Flight<V> existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            try {
+                final V value = loader.load();
+                flight.result.set(value);
+                return value;
+            } catch (Throwable e) {
+                flight.result.setException(e);
+                throw e;
+            } finally {
+                flights.remove(key, flight);
+            }
+        }
+
+        if (existing.owner == Thread.currentThread()) {
+            return loader.load();
+        }
+
+        return await(existing);
+    }
+
+    /**
+     * Checks whether a value is being loaded.
+     *
+     * @param key The key.
+     * @return {@code true} if a load of the key is in progress, {@code false} otherwise.
+     */
+    public boolean isLoading(K key) {
+        return flights.containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V await(Flight<V> flight) throws E {
+        try {
+            return Uninterruptibles.getUninterruptibly(flight.result);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            // The loaders can only throw checked exceptions of type E
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * Loads a value.
+     *
+     * @param <V> The type of the value.
+     * @param <E> The type of the exception thrown by the loader.
+     */
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private static final class Flight<V> {
+        private final Thread owner = Thread.currentThread();
+        private final SettableFuture<V> result = SettableFuture.create();
+    }
+}
@@ -0,0 +1,34 @@
+package com.sdl.webapp.common.api.mapping.config;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@code FieldPath}.
+ */
+public class FieldPathTest {
+
+    @Test
+    public void testSegments() {
+        final FieldPath path = new FieldPath("/Article/articleBody/content");
+
+        assertEquals(Arrays.asList("Article", "articleBody", "content"), path.getSegments());
+        assertEquals(Arrays.asList("articleBody", "content"), path.getTail().getSegments());
+        assertEquals(Arrays.asList("content"), path.getTail().getTail().getSegments());
+    }
+
+    @Test
+    public void testSegmentsMatchHeadsOfTails() {
+        FieldPath tail = new FieldPath("/Metadata//standardMeta/");
+
+        for (String segment : new FieldPath("/Metadata//standardMeta/").getSegments()) {
+            assertEquals(tail.getHead(), segment);
+            tail = tail.getTail();
+        }
+        assertNull(tail);
+    }
+}
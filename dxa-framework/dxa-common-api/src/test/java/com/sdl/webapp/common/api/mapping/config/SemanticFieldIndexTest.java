@@ -0,0 +1,74 @@
+package com.sdl.webapp.common.api.mapping.config;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.sdl.webapp.common.api.mapping.config.SemanticVocabulary.SCHEMA_ORG_VOCABULARY;
+import static com.sdl.webapp.common.api.mapping.config.SemanticVocabulary.SDL_CORE_VOCABULARY;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@code SemanticFieldIndex}.
+ */
+public class SemanticFieldIndexTest {
+
+    private static final Map<FieldSemantics, SemanticField> EMPTY_FIELDS_MAP = Collections.emptyMap();
+
+    private static final SemanticField HEADLINE_FIELD =
+            new SemanticField("headline", "/Article/headline", false, EMPTY_FIELDS_MAP);
+
+    private static final SemanticField CONTENT_FIELD =
+            new SemanticField("content", "/Article/articleBody/content", false, EMPTY_FIELDS_MAP);
+
+    private static final SemanticField NAME_FIELD =
+            new SemanticField("name", "/Metadata/standardMeta/name", false, EMPTY_FIELDS_MAP);
+
+    private static final SemanticField ARTICLE_BODY_FIELD = new SemanticField("articleBody", "/Article/articleBody", true,
+            ImmutableMap.of(new FieldSemantics(SDL_CORE_VOCABULARY, "Paragraph", "content"), CONTENT_FIELD));
+
+    private static final SemanticField STANDARD_META_FIELD = new SemanticField("standardMeta", "/Metadata/standardMeta", false,
+            ImmutableMap.of(new FieldSemantics(SDL_CORE_VOCABULARY, "StandardMetadata", "name"), NAME_FIELD));
+
+    private static final SemanticFieldIndex INDEX = SemanticFieldIndex.of(ImmutableMap.of(
+            new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "headline"), HEADLINE_FIELD,
+            new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "articleBody"), ARTICLE_BODY_FIELD,
+            new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "standardMeta"), STANDARD_META_FIELD));
+
+    @Test
+    public void testFindField() {
+        assertSame(HEADLINE_FIELD, INDEX.find(new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "headline")));
+    }
+
+    @Test
+    public void testFindEmbeddedField() {
+        assertSame(CONTENT_FIELD, INDEX.find(new FieldSemantics(SDL_CORE_VOCABULARY, "Paragraph", "content")));
+    }
+
+    @Test
+    public void testFindStandardMetadataFieldByPropertyName() {
+        assertSame(NAME_FIELD, INDEX.find(new FieldSemantics(SCHEMA_ORG_VOCABULARY, "Article", "name")));
+    }
+
+    @Test
+    public void testNoMatch() {
+        assertNull(INDEX.find(new FieldSemantics(SCHEMA_ORG_VOCABULARY, "Article", "headline")));
+        assertNull(INDEX.find(new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "unknown")));
+    }
+
+    @Test
+    public void testLastMatchWinsWithinLevel() {
+        final SemanticField descriptionField =
+                new SemanticField("description", "/Metadata/description", false, EMPTY_FIELDS_MAP);
+        final SemanticField otherDescriptionField =
+                new SemanticField("summary", "/Metadata/summary", false, EMPTY_FIELDS_MAP);
+        final SemanticFieldIndex index = SemanticFieldIndex.of(ImmutableMap.of(
+                new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "description"), descriptionField,
+                new FieldSemantics(SDL_CORE_VOCABULARY, "StandardMetadata", "description"), otherDescriptionField));
+
+        assertSame(otherDescriptionField, index.find(new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "description")));
+    }
+}
@@ -0,0 +1,160 @@
+package com.sdl.webapp.common.controller;
+
+import com.sdl.webapp.common.api.RequestTaskExecutor;
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
+import com.sdl.webapp.common.api.model.entity.Article;
+import com.sdl.webapp.common.api.model.entity.ExceptionEntity;
+import com.sdl.webapp.common.api.model.page.PageModelImpl;
+import com.sdl.webapp.common.api.model.region.RegionModelImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PageControllerTest {
+
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    private ExecutorService executorService;
+
+    private PageController pageController;
+
+    private volatile long enrichmentTime;
+
+    private static Article article(String controllerName) {
+        Article article = new Article();
+        article.setMvcData(new MvcDataImpl()
+                .setControllerAreaName("Core")
+                .setControllerName(controllerName)
+                .setActionName(controllerName)
+                .setAreaName("Core")
+                .setViewName("Article"));
+        return article;
+    }
+
+    private static PageModelImpl page(EntityModel entity) throws Exception {
+        RegionModelImpl region = new RegionModelImpl("Main");
+        region.addEntity(entity);
+        PageModelImpl page = new PageModelImpl();
+        page.getRegions().add(region);
+        return page;
+    }
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newCachedThreadPool();
+
+        pageController = new PageController(null, null, null, null, null, null, null) {
+            @Override
+            protected EntityModel enrichEntityModel(EntityModel entity) {
+                try {
+                    Thread.sleep(enrichmentTime);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return entity;
+            }
+        };
+        ReflectionTestUtils.setField(pageController, "concurrentEnrichmentEnabled", true);
+        ReflectionTestUtils.setField(pageController, "concurrentEnrichmentTimeout", 100L);
+        ReflectionTestUtils.setField(pageController, "requestTaskExecutor", new RequestTaskExecutor() {
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+
+            @Override
+            public <T> Future<T> submit(Callable<T> task) {
+                return executorService.submit(task);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldEnrichEntitiesWithinTimeBudget() throws Exception {
+        //given
+        Article article = article("List");
+        PageModelImpl page = page(article);
+
+        //when
+        ReflectionTestUtils.invokeMethod(pageController, "enrichEmbeddedModels", page);
+
+        //then
+        assertSame(article, page.getRegions().get("Main").getEntities().get(0));
+    }
+
+    @Test
+    public void shouldReplaceEntityThatIsNotEnrichedWithinTimeBudget() throws Exception {
+        //given
+        enrichmentTime = 10000;
+        PageModelImpl page = page(article("List"));
+
+        //when
+        long started = System.currentTimeMillis();
+        ReflectionTestUtils.invokeMethod(pageController, "enrichEmbeddedModels", page);
+        long elapsed = System.currentTimeMillis() - started;
+
+        //then
+        assertTrue(elapsed < 5000);
+        EntityModel entity = page.getRegions().get("Main").getEntities().get(0);
+        assertTrue(entity instanceof ExceptionEntity);
+
+        MvcData mvcData = entity.getMvcData();
+        assertEquals("Core", mvcData.getControllerAreaName());
+        assertEquals("Entity", mvcData.getControllerName());
+        assertEquals("Entity", mvcData.getActionName());
+    }
+
+    @Test
+    public void shouldCancelEnrichmentWhenTimeBudgetIsExceeded() throws Exception {
+        //given
+        enrichmentTime = 10000;
+        PageModelImpl page = page(article("List"));
+
+        //when
+        ReflectionTestUtils.invokeMethod(pageController, "enrichEmbeddedModels", page);
+
+        //then
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotSubmitEntitiesOfDefaultEntityController() throws Exception {
+        //given
+        RequestTaskExecutor requestTaskExecutor = mock(RequestTaskExecutor.class);
+        when(requestTaskExecutor.isConcurrent()).thenReturn(true);
+        ReflectionTestUtils.setField(pageController, "requestTaskExecutor", requestTaskExecutor);
+        Article article = article("Entity");
+        PageModelImpl page = page(article);
+
+        //when
+        ReflectionTestUtils.invokeMethod(pageController, "enrichEmbeddedModels", page);
+
+        //then
+        verify(requestTaskExecutor, never()).submit(any(Callable.class));
+        assertSame(article, page.getRegions().get("Main").getEntities().get(0));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sdl.webapp.common.util;
+
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.PageModel;
+import com.sdl.webapp.common.api.model.RegionModel;
+import com.sdl.webapp.common.api.model.entity.AbstractEntityModel;
+import com.sdl.webapp.common.api.model.entity.Article;
+import com.sdl.webapp.common.api.model.page.PageModelImpl;
+import com.sdl.webapp.common.api.model.region.RegionModelImpl;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ModelCopyUtilsTest {
+
+    @Test
+    public void shouldCopyPageWithRegionsAndEntities() throws Exception {
+        //given
+        Article article = new Article();
+        article.setId("1");
+        article.setHeadline("headline");
+        RegionModelImpl region = new RegionModelImpl("Main");
+        region.addEntity(article);
+        PageModelImpl page = new PageModelImpl();
+        page.setId("2");
+        page.setMeta(new HashMap<String, String>());
+        page.getRegions().add(region);
+
+        //when
+        PageModel copy = ModelCopyUtils.copyPageModel(page);
+
+        //then
+        assertNotSame(page, copy);
+        assertEquals("2", copy.getId());
+        assertNotSame(page.getMeta(), copy.getMeta());
+        assertNotSame(page.getRegions(), copy.getRegions());
+
+        RegionModel regionCopy = copy.getRegions().get("Main");
+        assertNotSame(region, regionCopy);
+        assertNotSame(region.getEntities(), regionCopy.getEntities());
+
+        EntityModel articleCopy = regionCopy.getEntities().get(0);
+        assertNotSame(article, articleCopy);
+        assertEquals("1", articleCopy.getId());
+        assertEquals("headline", ((Article) articleCopy).getHeadline());
+    }
+
+    @Test
+    public void shouldNotChangeOriginalWhenCopyIsModified() throws Exception {
+        //given
+        Article article = new Article();
+        RegionModelImpl region = new RegionModelImpl("Main");
+        region.addEntity(article);
+        PageModelImpl page = new PageModelImpl();
+        page.getRegions().add(region);
+
+        //when
+        PageModel copy = ModelCopyUtils.copyPageModel(page);
+        RegionModel regionCopy = copy.getRegions().get("Main");
+        regionCopy.getEntities().set(0, new Article());
+        regionCopy.addEntity(new Article());
+        copy.getMeta().put("description", "changed");
+
+        //then
+        assertSame(article, region.getEntities().get(0));
+        assertEquals(1, region.getEntities().size());
+        assertTrue(page.getMeta().isEmpty());
+    }
+
+    @Test
+    public void shouldNotChangeOriginalRouteValuesWhenCopyIsModified() throws Exception {
+        //given
+        RegionModelImpl region = new RegionModelImpl("Main", "Main");
+
+        //when
+        RegionModel regionCopy = ModelCopyUtils.copyRegionModel(region);
+        regionCopy.getMvcData().getRouteValues().put("viewName", "Alternate");
+
+        //then
+        assertEquals("Main", regionCopy.getMvcData().getViewName());
+        assertTrue(region.getMvcData().getRouteValues().isEmpty());
+    }
+
+    @Test
+    public void shouldNotCopyPageWithEntityWithoutDefaultConstructor() throws Exception {
+        //given
+        RegionModelImpl region = new RegionModelImpl("Main");
+        region.addEntity(new UncopyableEntity("1"));
+        PageModelImpl page = new PageModelImpl();
+        page.getRegions().add(region);
+
+        //when
+        boolean canCopy = ModelCopyUtils.canCopyPageModel(page);
+
+        //then
+        assertFalse(canCopy);
+        assertTrue(ModelCopyUtils.canCopyPageModel(new PageModelImpl()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionInsteadOfReturningOriginalEntity() {
+        //when
+        ModelCopyUtils.copyEntityModel(new UncopyableEntity("1"));
+    }
+
+    @Test
+    public void shouldReturnNullForNullModels() {
+        //when
+        PageModel page = ModelCopyUtils.copyPageModel(null);
+        EntityModel entity = ModelCopyUtils.copyEntityModel(null);
+
+        //then
+        assertNull(page);
+        assertNull(entity);
+    }
+
+    private static class UncopyableEntity extends AbstractEntityModel {
+        UncopyableEntity(String id) {
+            setId(id);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sdl.webapp.common.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    @Test
+    public void shouldLoadOnceForConcurrentCallers() throws Exception {
+        //given
+        final SingleFlight<String, Object, RuntimeException> singleFlight = new SingleFlight<>();
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Object value = new Object();
+        final SingleFlight.Loader<Object, RuntimeException> loader = new SingleFlight.Loader<Object, RuntimeException>() {
+            @Override
+            public Object load() {
+                loads.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return value;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<Object> first = executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return singleFlight.execute("key", loader);
+            }
+        });
+        loading.await(5, TimeUnit.SECONDS);
+        Future<Object> second = executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return singleFlight.execute("key", loader);
+            }
+        });
+        // Give the second caller time to join the load in progress
+        Thread.sleep(100);
+        release.countDown();
+
+        //then
+        assertSame(value, first.get(5, TimeUnit.SECONDS));
+        assertSame(value, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldLoadAgainAfterLoadCompleted() {
+        //given
+        SingleFlight<String, Integer, RuntimeException> singleFlight = new SingleFlight<>();
+        final AtomicInteger loads = new AtomicInteger();
+        SingleFlight.Loader<Integer, RuntimeException> loader = new SingleFlight.Loader<Integer, RuntimeException>() {
+            @Override
+            public Integer load() {
+                return loads.incrementAndGet();
+            }
+        };
+
+        //when
+        int first = singleFlight.execute("key", loader);
+        int second = singleFlight.execute("key", loader);
+
+        //then
+        assertEquals(1, first);
+        assertEquals(2, second);
+    }
+
+    @Test
+    public void shouldThrowExceptionOfLoader() {
+        //given
+        SingleFlight<String, Object, IOException> singleFlight = new SingleFlight<>();
+
+        //when
+        try {
+            singleFlight.execute("key", new SingleFlight.Loader<Object, IOException>() {
+                @Override
+                public Object load() throws IOException {
+                    throw new IOException("failed");
+                }
+            });
+            fail("Expected IOException");
+        } catch (IOException e) {
+            //then
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCallLoaderDirectlyForRecursiveLoad() {
+        //given
+        final SingleFlight<String, String, RuntimeException> singleFlight = new SingleFlight<>();
+
+        //when
+        String value = singleFlight.execute("key", new SingleFlight.Loader<String, RuntimeException>() {
+            @Override
+            public String load() {
+                return "outer-" + singleFlight.execute("key", new SingleFlight.Loader<String, RuntimeException>() {
+                    @Override
+                    public String load() {
+                        return "inner";
+                    }
+                });
+            }
+        });
+
+        //then
+        assertEquals("outer-inner", value);
+    }
+}
@@ -1,9 +1,11 @@
 package com.sdl.webapp.common.impl;
 
 import com.google.common.base.Strings;
+import com.sdl.webapp.common.api.RequestTaskExecutor;
 import com.sdl.webapp.common.api.content.ConditionalEntityEvaluator;
 import com.sdl.webapp.common.api.content.ContentProviderException;
 import com.sdl.webapp.common.api.content.RegionBuilder;
+import com.sdl.webapp.common.api.content.PrefetchingRegionBuilderCallback;
 import com.sdl.webapp.common.api.content.RegionBuilderCallback;
 import com.sdl.webapp.common.api.localization.Localization;
 import com.sdl.webapp.common.api.model.EntityModel;
@@ -13,19 +15,41 @@ import com.sdl.webapp.common.api.model.RegionModel;
 import com.sdl.webapp.common.api.model.RegionModelSet;
 import com.sdl.webapp.common.api.model.ViewModelRegistry;
 import com.sdl.webapp.common.api.model.region.RegionModelSetImpl;
+import com.sdl.webapp.common.controller.ControllerUtils;
 import com.sdl.webapp.common.exceptions.DxaException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+/**
+ * Default implementation of {@code RegionBuilder}.
+ * <p/>
+ * In concurrent assembly mode, the entities are built at the same time on the {@link RequestTaskExecutor}, and the
+ * regions are then assembled in the order of the source list, so that the result is the same as when the entities are
+ * built one after the other. An entity that cannot be built is then replaced by an {@code ExceptionEntity}, which is
+ * rendered as an error section, instead of failing the whole page. Concurrent entity building is disabled by default;
+ * set {@code concurrentEntityBuildingEnabled} to enable it.
+ */
 @Component
 public class DefaultRegionBuilder implements RegionBuilder {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRegionBuilder.class);
 
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
+
+    @Value("#{environment.getProperty('concurrentEntityBuildingEnabled', 'false')}")
+    private boolean concurrentEntityBuildingEnabled;
+
     @Override
     public RegionModelSet buildRegions(PageModel page,
                                        ConditionalEntityEvaluator conditionalEntityEvaluator,
@@ -35,8 +59,14 @@ public class DefaultRegionBuilder implements RegionBuilder {
                                        ViewModelRegistry viewModelRegistry) throws ContentProviderException {
 
         RegionModelSet regions = new RegionModelSetImpl();
+        if (callback instanceof PrefetchingRegionBuilderCallback) {
+            ((PrefetchingRegionBuilderCallback) callback).prefetch(sourceList, localization);
+        }
+        final List<Future<EntityModel>> entities = buildEntities(sourceList, callback, localization);
+        int index = 0;
         for (Object source : sourceList) {
-            final EntityModel entity = callback.buildEntity(source, localization);
+            final EntityModel entity = entities != null ? getEntity(entities.get(index++)) :
+                    callback.buildEntity(source, localization);
 
             String regionName = callback.getRegionName(source);
             if (!Strings.isNullOrEmpty(regionName)) {
@@ -67,4 +97,44 @@ public class DefaultRegionBuilder implements RegionBuilder {
         }
         return regions;
     }
+
+    /**
+     * Starts building all entities of the source list at the same time.
+     *
+     * @return Futures for the entities in the order of the source list, or {@code null} if the entities should be
+     * built one after the other.
+     */
+    private List<Future<EntityModel>> buildEntities(List<?> sourceList, final RegionBuilderCallback callback,
+                                                    final Localization localization) {
+        if (!concurrentEntityBuildingEnabled || sourceList.size() < 2 || !requestTaskExecutor.isConcurrent()) {
+            return null;
+        }
+
+        final List<Future<EntityModel>> entities = new ArrayList<>(sourceList.size());
+        for (final Object source : sourceList) {
+            entities.add(requestTaskExecutor.submit(new Callable<EntityModel>() {
+                @Override
+                public EntityModel call() throws ContentProviderException {
+                    return callback.buildEntity(source, localization);
+                }
+            }));
+        }
+        return entities;
+    }
+
+    private static EntityModel getEntity(Future<EntityModel> future) throws ContentProviderException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentProviderException("Interrupted while building entities", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            LOG.error("Exception while building entity", cause);
+            return ControllerUtils.createExceptionEntity((Exception) cause);
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package com.sdl.webapp.common.impl;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.webapp.common.api.RequestTaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@code RequestTaskExecutor} that runs tasks on a bounded thread pool.
+ * <p/>
+ * Concurrent execution is enabled by default, so that for example the dynamic component presentations of a page are
+ * fetched at the same time; it can be turned off with {@code concurrentAssemblyEnabled}. When all threads are busy and
+ * the queue is full, tasks run in the submitting thread, so that a busy server degrades to sequential request handling
+ * instead of rejecting requests. Tasks submitted from within a task always run in the calling thread; otherwise a task
+ * waiting for the tasks it submitted could occupy all threads of the pool.
+ * <p/>
+ * Tasks do not run with the request attributes of the submitting request itself, which are backed by the servlet
+ * request and are not meant to be used by several threads. Instead, each task gets a copy of the request-scoped
+ * attributes, taken in the submitting thread when the task is submitted. Request-scoped beans that exist at that time,
+ * such as the {@code WebRequestContext}, are shared with the request and must be safe for use by several threads;
+ * attributes that a task sets are only seen by that task. Session-scoped attributes are not available to tasks.
+ */
+@Component
+public class RequestTaskExecutorImpl implements RequestTaskExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestTaskExecutorImpl.class);
+
+    private static final ThreadLocal<Boolean> IN_TASK = new ThreadLocal<>();
+
+    @Value("#{environment.getProperty('concurrentAssemblyEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('concurrentAssemblyThreads', '16')}")
+    private int threads;
+
+    @Value("#{environment.getProperty('concurrentAssemblyQueueSize', '100')}")
+    private int queueSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        LOG.info("Concurrent page assembly enabled: {} threads, queue size {}", threads, queueSize);
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat("dxa-assembly-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return executor != null && !Boolean.TRUE.equals(IN_TASK.get());
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        if (!isConcurrent()) {
+            try {
+                return Futures.immediateFuture(task.call());
+            } catch (Exception e) {
+                return Futures.immediateFailedFuture(e);
+            }
+        }
+
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return executor.submit(new RequestTask<>(task,
+                requestAttributes != null ? new RequestTaskAttributes(requestAttributes) : null));
+    }
+
+    /**
+     * Runs a task with a copy of the request attributes of the thread that submitted it.
+     */
+    private static final class RequestTask<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final RequestAttributes requestAttributes;
+
+        private RequestTask(Callable<T> task, RequestAttributes requestAttributes) {
+            this.task = task;
+            this.requestAttributes = requestAttributes;
+        }
+
+        @Override
+        public T call() throws Exception {
+            // This may be the submitting thread itself, if the pool was saturated
+            final RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+            final Boolean previousInTask = IN_TASK.get();
+
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            IN_TASK.set(Boolean.TRUE);
+            try {
+                return task.call();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+                if (previousInTask != null) {
+                    IN_TASK.set(previousInTask);
+                } else {
+                    IN_TASK.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Request attributes of a task: a copy of the request-scoped attributes of the submitting request.
+     */
+    private static final class RequestTaskAttributes implements RequestAttributes {
+        private final ConcurrentMap<String, Object> attributes = new ConcurrentHashMap<>();
+
+        private RequestTaskAttributes(RequestAttributes requestAttributes) {
+            for (String name : requestAttributes.getAttributeNames(SCOPE_REQUEST)) {
+                final Object value = requestAttributes.getAttribute(name, SCOPE_REQUEST);
+                if (value != null) {
+                    attributes.put(name, value);
+                }
+            }
+        }
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            checkScope(scope);
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            checkScope(scope);
+            if (value != null) {
+                attributes.put(name, value);
+            } else {
+                attributes.remove(name);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            checkScope(scope);
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            checkScope(scope);
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+            checkScope(scope);
+            LOG.warn("Request-scoped bean created in a request task will not be destroyed: {}", name);
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            throw new IllegalStateException("The session is not available in request tasks");
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            throw new IllegalStateException("The session is not available in request tasks");
+        }
+
+        private static void checkScope(int scope) {
+            if (scope != SCOPE_REQUEST) {
+                throw new IllegalStateException("Only request-scoped attributes are available in request tasks");
+            }
+        }
+    }
+}
@@ -23,6 +23,10 @@ import java.util.Stack;
  * Implementation of {@code WebRequestContext}.
  * <p/>
  * This implementation gets information about the display width etc. from the Ambient Data Framework.
+ * <p/>
+ * The context is also used by tasks that run on the {@code RequestTaskExecutor} while the request is being handled.
+ * Its values are set before such tasks are submitted; the values that are determined on first use are determined
+ * while holding the lock of the context, so that tasks and the request thread see the same values.
  */
 @Component
 @Primary
@@ -81,7 +85,7 @@ public class WebRequestContextImpl implements WebRequestContext {
     }
 
     @Override
-    public int getMaxMediaWidth() {
+    public synchronized int getMaxMediaWidth() {
         if (maxMediaWidth == null) {
             maxMediaWidth = (int) (Math.max(1.0, getPixelRatio()) * Math.min(getDisplayWidth(), MAX_WIDTH));
         }
@@ -89,7 +93,7 @@ public class WebRequestContextImpl implements WebRequestContext {
     }
 
     @Override
-    public double getPixelRatio() {
+    public synchronized double getPixelRatio() {
         if (pixelRatio == null) {
             pixelRatio = this.getContextEngine().getClaims(DeviceClaims.class).getPixelRatio();
             if (pixelRatio == null) {
@@ -100,7 +104,7 @@ public class WebRequestContextImpl implements WebRequestContext {
         return pixelRatio;
     }
 
-    public ScreenWidth getScreenWidth() {
+    public synchronized ScreenWidth getScreenWidth() {
         if (screenwidth == null) {
             screenwidth = calculateScreenWidth();
         }
@@ -178,7 +182,7 @@ public class WebRequestContextImpl implements WebRequestContext {
     }
 
     @Override
-    public boolean isDeveloperMode() {
+    public synchronized boolean isDeveloperMode() {
         if (this.isDeveloperMode == null) {
             this.isDeveloperMode = getIsDeveloperMode();
         }
@@ -212,7 +216,7 @@ public class WebRequestContextImpl implements WebRequestContext {
     }
 
     @Override
-    public int getDisplayWidth() {
+    public synchronized int getDisplayWidth() {
         if (displayWidth == null) {
 
             this.displayWidth = this.getContextEngine().getClaims(BrowserClaims.class).getDisplayWidth();
@@ -0,0 +1,230 @@
+package com.sdl.webapp.common.impl.interceptor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.MediaHelper;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.PageModel;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.controller.OutputCacheControl;
+import com.sdl.webapp.common.controller.PageController;
+import com.sdl.webapp.common.controller.RequestAttributeNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import org.springframework.web.util.WebUtils;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page output cache interceptor. This interceptor keeps the rendered HTML of pages, and sends it to the client when
+ * the same page is requested again in the same context; in that case the request will not be processed further by
+ * Spring's {@code DispatcherServlet} (the page is not retrieved and not rendered).
+ * <p/>
+ * The rendered page is kept per localization, URL, device family, screen width and maximum media width. Pages are
+ * never cached for preview (XPM) requests, include requests and requests with a query string. Pages are not cached
+ * either when a view or controller disabled caching with {@code OutputCacheControl}, for example because an error
+ * section was rendered or its output depends on the request, or when the page model contains an entity that could not
+ * be built or enriched ({@code ExceptionEntity}), since such errors may be transient. A cached page is
+ * discarded when its localization is refreshed, when the {@code PublicationChangeTracker} notices that something was
+ * published in the localization, or after the time-to-live, which puts a bound on how long changes that are not
+ * noticed, such as unpublished content, can go unnoticed.
+ * <p/>
+ * The cache is disabled by default; set {@code pageOutputCacheEnabled} to enable it. This should be configured to be
+ * called after the {@code LocalizationResolverInterceptor} and the {@code StaticContentInterceptor}, and the
+ * {@code PageOutputCaptureFilter} must be configured in front of the {@code DispatcherServlet} so that rendered pages
+ * can be captured.
+ */
+public class PageOutputCacheInterceptor extends HandlerInterceptorAdapter {
+    private static final Logger LOG = LoggerFactory.getLogger(PageOutputCacheInterceptor.class);
+
+    private static final String CAPTURE_ATTRIBUTE = PageOutputCacheInterceptor.class.getName() + ".capture";
+
+    private static final String PAGE_HANDLER_METHOD_NAME = "handleGetPage";
+
+    private final WebRequestContext webRequestContext;
+
+    private final MediaHelper mediaHelper;
+
+    private final PublicationChangeTracker publicationChangeTracker;
+
+    @Value("#{environment.getProperty('pageOutputCacheEnabled', 'false')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('pageOutputCacheMaxSize', '200')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('pageOutputCacheTimeToLive', '60')}")
+    private int timeToLive;
+
+    private Cache<String, CachedPage> cache;
+
+    @Autowired
+    public PageOutputCacheInterceptor(WebRequestContext webRequestContext, MediaHelper mediaHelper,
+                                      PublicationChangeTracker publicationChangeTracker) {
+        this.webRequestContext = webRequestContext;
+        this.mediaHelper = mediaHelper;
+        this.publicationChangeTracker = publicationChangeTracker;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        final String key = getKey(request, handler);
+        if (key == null) {
+            return true;
+        }
+
+        final CachedPage cachedPage = cache.getIfPresent(key);
+        if (cachedPage != null) {
+            if (isCurrent(cachedPage)) {
+                LOG.trace("Using cached page output: {}", key);
+                response.setContentType(cachedPage.getContentType());
+                response.getWriter().write(cachedPage.getOutput());
+                return false;
+            }
+            LOG.debug("Content has been published, removing cached page output: {}", key);
+            cache.invalidate(key);
+        }
+
+        final PageOutputCaptureResponse captureResponse =
+                WebUtils.getNativeResponse(response, PageOutputCaptureResponse.class);
+        if (captureResponse == null) {
+            LOG.debug("Page output cannot be cached. Please make sure that the PageOutputCaptureFilter is configured.");
+            return true;
+        }
+
+        captureResponse.startCapture();
+        request.setAttribute(CAPTURE_ATTRIBUTE, new Capture(key, System.currentTimeMillis(),
+                OutputCacheControl.begin(request)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
+            throws Exception {
+        final Capture capture = (Capture) request.getAttribute(CAPTURE_ATTRIBUTE);
+        if (capture == null || ex != null) {
+            return;
+        }
+
+        final PageOutputCaptureResponse captureResponse =
+                WebUtils.getNativeResponse(response, PageOutputCaptureResponse.class);
+        final String contentType = captureResponse.getContentType();
+        if (captureResponse.getStatus() != HttpServletResponse.SC_OK || contentType == null ||
+                !MediaType.TEXT_HTML.includes(MediaType.parseMediaType(contentType))) {
+            return;
+        }
+
+        final Object page = request.getAttribute(RequestAttributeNames.PAGE_MODEL);
+        final boolean containsErrors = page instanceof PageModel &&
+                ControllerUtils.containsExceptionEntity(((PageModel) page).getRegions());
+        if (capture.outputCacheControl.isCachingDisabled() || containsErrors) {
+            LOG.debug("Page output depends on the request or contains errors, not caching it: {}", capture.key);
+            return;
+        }
+
+        final String output = captureResponse.getCapturedOutput();
+        if (output != null && !output.isEmpty()) {
+            LOG.trace("Caching page output: {}", capture.key);
+            cache.put(capture.key, new CachedPage(webRequestContext.getLocalization(), contentType, output,
+                    capture.started));
+        }
+    }
+
+    /**
+     * Gets the key of the rendered page for the request.
+     *
+     * @return The key, or {@code null} if the rendered page should not be cached.
+     */
+    private String getKey(HttpServletRequest request, Object handler) {
+        if (!enabled || !isPageHandler(handler) || request.getQueryString() != null) {
+            return null;
+        }
+
+        final Localization localization = webRequestContext.getLocalization();
+        if (localization == null || webRequestContext.getIsInclude() || webRequestContext.isPreview()) {
+            return null;
+        }
+
+        // Responsive images are sized for the maximum media width, which also depends on the pixel ratio
+        return localization.getId() + ":" + webRequestContext.getContextEngine().getDeviceFamily() + ":" +
+                mediaHelper.getScreenWidth() + ":" + webRequestContext.getMaxMediaWidth() + ":" +
+                webRequestContext.getFullUrl();
+    }
+
+    private static boolean isPageHandler(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return false;
+        }
+        final HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return PageController.class.isAssignableFrom(handlerMethod.getBeanType()) &&
+                handlerMethod.getMethod().getName().equals(PAGE_HANDLER_METHOD_NAME);
+    }
+
+    private boolean isCurrent(CachedPage cachedPage) {
+        // Refreshing a localization creates a new Localization object
+        final Localization localization = webRequestContext.getLocalization();
+        return cachedPage.getLocalization() == localization &&
+                cachedPage.getCreated() > publicationChangeTracker.getLastPublished(localization.getId());
+    }
+
+    private static final class Capture {
+        private final String key;
+        private final long started;
+        private final OutputCacheControl outputCacheControl;
+
+        private Capture(String key, long started, OutputCacheControl outputCacheControl) {
+            this.key = key;
+            this.started = started;
+            this.outputCacheControl = outputCacheControl;
+        }
+    }
+
+    private static final class CachedPage {
+        private final WeakReference<Localization> localization;
+        private final String contentType;
+        private final String output;
+        private final long created;
+
+        private CachedPage(Localization localization, String contentType, String output, long created) {
+            this.localization = new WeakReference<>(localization);
+            this.contentType = contentType;
+            this.output = output;
+            this.created = created;
+        }
+
+        public Localization getLocalization() {
+            return localization.get();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.sdl.webapp.common.impl.interceptor;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Page output capture filter. This filter wraps the response of GET requests so that the
+ * {@code PageOutputCacheInterceptor} can keep a copy of the rendered page.
+ * <p/>
+ * This should be configured in front of the Spring {@code DispatcherServlet} when the page output cache is used.
+ */
+public class PageOutputCaptureFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if ("GET".equals(request.getMethod())) {
+            filterChain.doFilter(request, new PageOutputCaptureResponse(response));
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
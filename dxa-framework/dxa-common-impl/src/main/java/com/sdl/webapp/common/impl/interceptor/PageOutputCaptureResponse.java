@@ -0,0 +1,142 @@
+package com.sdl.webapp.common.impl.interceptor;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+/**
+ * Response wrapper that keeps a copy of the output that is written to the response once capturing has been started.
+ * The output is still written to the wrapped response as it is produced, so capturing does not delay the response.
+ */
+final class PageOutputCaptureResponse extends HttpServletResponseWrapper {
+
+    private final StringWriter capturedChars = new StringWriter();
+
+    private final ByteArrayOutputStream capturedBytes = new ByteArrayOutputStream();
+
+    private volatile boolean capturing;
+
+    private PrintWriter writer;
+
+    private ServletOutputStream outputStream;
+
+    PageOutputCaptureResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Starts keeping a copy of the output.
+     */
+    void startCapture() {
+        capturing = true;
+    }
+
+    /**
+     * Gets the output that was written since capturing was started.
+     *
+     * @return The captured output, or {@code null} if capturing was not started.
+     * @throws UnsupportedEncodingException If the output was written as bytes in an unsupported character encoding.
+     */
+    String getCapturedOutput() throws UnsupportedEncodingException {
+        if (!capturing) {
+            return null;
+        }
+        return outputStream != null ? capturedBytes.toString(getCharacterEncoding()) : capturedChars.toString();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            final Writer target = super.getWriter();
+            writer = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] chars, int offset, int length) throws IOException {
+                    target.write(chars, offset, length);
+                    if (capturing) {
+                        capturedChars.write(chars, offset, length);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    target.close();
+                }
+            });
+        }
+        return writer;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            final ServletOutputStream target = super.getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    if (capturing) {
+                        capturedBytes.write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    target.write(bytes, offset, length);
+                    if (capturing) {
+                        capturedBytes.write(bytes, offset, length);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    target.close();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return target.isReady();
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    target.setWriteListener(writeListener);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearCapturedOutput();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearCapturedOutput();
+    }
+
+    private void clearCapturedOutput() {
+        capturedChars.getBuffer().setLength(0);
+        capturedBytes.reset();
+    }
+}
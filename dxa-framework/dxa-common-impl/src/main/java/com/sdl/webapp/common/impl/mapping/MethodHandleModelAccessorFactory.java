@@ -0,0 +1,100 @@
+package com.sdl.webapp.common.impl.mapping;
+
+import com.sdl.webapp.common.api.mapping.ModelAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of {@code ModelAccessorFactory} that uses method handles. The access checks are done once, when a
+ * method handle is created, instead of on each call. The accessors are cached per class and per field.
+ */
+@Component
+public class MethodHandleModelAccessorFactory implements ModelAccessorFactory {
+
+    private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private final ConcurrentMap<Class<?>, Instantiator<?>> instantiators = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Field, FieldSetter> fieldSetters = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Instantiator<T> getInstantiator(Class<T> type) throws ReflectiveOperationException {
+        Instantiator<T> instantiator = (Instantiator<T>) instantiators.get(type);
+        if (instantiator == null) {
+            instantiator = createInstantiator(type);
+            instantiators.putIfAbsent(type, instantiator);
+        }
+        return instantiator;
+    }
+
+    @Override
+    public FieldSetter getFieldSetter(Field field) throws IllegalAccessException {
+        FieldSetter fieldSetter = fieldSetters.get(field);
+        if (fieldSetter == null) {
+            fieldSetter = createFieldSetter(field);
+            fieldSetters.putIfAbsent(field, fieldSetter);
+        }
+        return fieldSetter;
+    }
+
+    private <T> Instantiator<T> createInstantiator(final Class<T> type) throws ReflectiveOperationException {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new InstantiationException("Cannot instantiate interface or abstract class: " + type.getName());
+        }
+
+        final Constructor<T> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        final MethodHandle handle = lookup.unreflectConstructor(constructor).asType(INSTANTIATOR_TYPE);
+
+        return new Instantiator<T>() {
+            @Override
+            public T newInstance() throws ReflectiveOperationException {
+                try {
+                    return type.cast((Object) handle.invokeExact());
+                } catch (RuntimeException | Error | ReflectiveOperationException e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e, "Exception in constructor of: " + type.getName());
+                }
+            }
+        };
+    }
+
+    private FieldSetter createFieldSetter(final Field field) throws IllegalAccessException {
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new IllegalAccessException("Cannot set static field: " + field);
+        }
+
+        field.setAccessible(true);
+        final MethodHandle handle = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+
+        return new FieldSetter() {
+            @Override
+            public void set(Object target, Object value) {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (ClassCastException | NullPointerException e) {
+                    throw new IllegalArgumentException("Cannot set field " + field + " to value: " + value, e);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    // Setting a field does not throw checked exceptions
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
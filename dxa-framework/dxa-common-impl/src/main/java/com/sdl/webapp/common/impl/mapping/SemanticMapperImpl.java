@@ -1,14 +1,18 @@
 package com.sdl.webapp.common.impl.mapping;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.sdl.webapp.common.api.mapping.FieldData;
+import com.sdl.webapp.common.api.mapping.ModelAccessorFactory;
 import com.sdl.webapp.common.api.mapping.SemanticFieldDataProvider;
 import com.sdl.webapp.common.api.mapping.SemanticMapper;
 import com.sdl.webapp.common.api.mapping.SemanticMappingException;
 import com.sdl.webapp.common.api.mapping.SemanticMappingRegistry;
 import com.sdl.webapp.common.api.mapping.config.FieldSemantics;
 import com.sdl.webapp.common.api.mapping.config.SemanticField;
+import com.sdl.webapp.common.api.mapping.config.SemanticFieldIndex;
 import com.sdl.webapp.common.api.model.RichText;
 import com.sdl.webapp.common.api.model.ViewModel;
 import com.sdl.webapp.common.api.model.entity.AbstractEntityModel;
@@ -20,8 +24,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class SemanticMapperImpl implements SemanticMapper {
@@ -32,9 +40,20 @@ public class SemanticMapperImpl implements SemanticMapper {
 
     private final SemanticMappingRegistry registry;
 
+    private final ModelAccessorFactory accessorFactory;
+
+    /**
+     * Index and mapping plans per entity class, for each set of semantic fields. The sets of semantic fields are
+     * compared by identity and weakly referenced, so the plans for the semantic schemas of a localization go away
+     * together with the localization.
+     */
+    private final Cache<Map<FieldSemantics, SemanticField>, MappingPlans> mappingPlans =
+            CacheBuilder.newBuilder().weakKeys().build();
+
     @Autowired
-    public SemanticMapperImpl(SemanticMappingRegistry registry) {
+    public SemanticMapperImpl(SemanticMappingRegistry registry, ModelAccessorFactory accessorFactory) {
         this.registry = registry;
+        this.accessorFactory = accessorFactory;
     }
 
 
@@ -47,152 +66,238 @@ public class SemanticMapperImpl implements SemanticMapper {
 
         final ImmutableMap.Builder<String, String> propertyDataBuilder = ImmutableMap.builder();
 
-        // Map all the fields (including fields inherited from superclasses) of the entity
+        // Map the fields of the entity for which the semantics match
+        for (FieldMapping fieldMapping : getMappingPlan(entityClass, semanticFields)) {
+            if (!fieldMapping.getSemanticFields().isEmpty()) {
+                mapField(entity, fieldMapping, fieldDataProvider, propertyDataBuilder);
+            } else {
+                mapSpecialField(entity, fieldMapping, fieldDataProvider);
+            }
+        }
+
+        // Set property data (used for semantic markup)
+        if (AbstractEntityModel.class.isAssignableFrom(entity.getClass())) {
+            ((AbstractEntityModel) entity).setXpmPropertyMetadata(propertyDataBuilder.build());
+        }
+        LOG.trace("entity: {}", entity);
+        return entity;
+    }
+
+    private void mapField(Object entity, FieldMapping fieldMapping, SemanticFieldDataProvider fieldDataProvider,
+                          ImmutableMap.Builder<String, String> propertyDataBuilder) {
+        final Field field = fieldMapping.getField();
+
+        // Try getting data using each of the matching semantic fields in order
+        for (SemanticField semanticField : fieldMapping.getSemanticFields()) {
+            FieldData fieldData = null;
+            try {
+                fieldData = fieldDataProvider.getFieldData(semanticField, fieldMapping.getTypeDescriptor());
+            } catch (SemanticMappingException e) {
+                LOG.error("Exception while getting field data for: " + field, e);
+            }
+
+            if (fieldData != null) {
+                final Object fieldValue = fieldData.getFieldValue();
+                if (fieldValue != null) {
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Setting field value: {} -> {}", field.getName(), fieldValue);
+                    }
+
+                    if (field.getType().equals(RichText.class) && fieldValue.getClass().equals(String.class)) {
+                        fieldMapping.getSetter().set(entity, new RichText((String) fieldValue));
+                    } else {
+                        fieldMapping.getSetter().set(entity, fieldValue);
+                    }
+
+                    final String propertyData = fieldData.getPropertyData();
+                    if (!Strings.isNullOrEmpty(propertyData)) {
+                        propertyDataBuilder.put(field.getName(), propertyData);
+                    }
+
+                    return;
+                }
+            }
+        }
+    }
+
+    private void mapSpecialField(Object entity, FieldMapping fieldMapping, SemanticFieldDataProvider fieldDataProvider) {
+        final Field field = fieldMapping.getField();
+
+        // Special cases - these are only tried when none of the semantics of the field matched
+        for (String propertyName : fieldMapping.getSpecialPropertyNames()) {
+            Object fieldData = null;
+            if (propertyName.equals(SELF_PROPERTY)) {
+                try {
+                    fieldData = fieldDataProvider.getSelfFieldData(fieldMapping.getTypeDescriptor());
+                } catch (SemanticMappingException e) {
+                    LOG.error("Exception while getting self property data for: " + field, e);
+                }
+            } else {
+                try {
+                    fieldData = fieldDataProvider.getAllFieldData();
+                } catch (SemanticMappingException e) {
+                    LOG.error("Exception while getting all property data for: " + field, e);
+                }
+            }
+
+            if (fieldData != null) {
+                fieldMapping.getSetter().set(entity, fieldData);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the mapping plan for an entity class and a set of semantic fields. The plan only depends on these, so it is
+     * made once and reused for all entities of the same class that are created from the same (immutable) semantic
+     * fields, which normally are the semantic fields of a semantic schema.
+     */
+    private List<FieldMapping> getMappingPlan(Class<?> entityClass, Map<FieldSemantics, SemanticField> semanticFields) {
+        if (!(semanticFields instanceof ImmutableMap)) {
+            // A mutable map may be changed after the plan was made
+            return createMappingPlan(entityClass, semanticFields, SemanticFieldIndex.of(semanticFields));
+        }
+
+        MappingPlans plans = mappingPlans.getIfPresent(semanticFields);
+        if (plans == null) {
+            final MappingPlans newPlans = new MappingPlans(SemanticFieldIndex.of(semanticFields));
+            plans = mappingPlans.asMap().putIfAbsent(semanticFields, newPlans);
+            if (plans == null) {
+                plans = newPlans;
+            }
+        }
+
+        List<FieldMapping> plan = plans.getPlans().get(entityClass);
+        if (plan == null) {
+            plan = createMappingPlan(entityClass, semanticFields, plans.getIndex());
+            plans.getPlans().put(entityClass, plan);
+        }
+        return plan;
+    }
+
+    private List<FieldMapping> createMappingPlan(Class<?> entityClass,
+                                                 final Map<FieldSemantics, SemanticField> semanticFields,
+                                                 final SemanticFieldIndex semanticFieldIndex) {
+        final List<FieldMapping> plan = new ArrayList<>();
+
+        // Look at all the fields (including fields inherited from superclasses) of the entity
         ReflectionUtils.doWithFields(entityClass, new ReflectionUtils.FieldCallback() {
             @Override
             public void doWith(Field field) throws IllegalArgumentException, IllegalAccessException {
                 // Find the semantics for this field
                 final Set<FieldSemantics> registrySemantics = registry.getFieldSemantics(field);
-                if (LOG.isTraceEnabled() && !registrySemantics.isEmpty()) {
-                    LOG.trace("field: {}", field);
+                if (registrySemantics.isEmpty()) {
+                    return;
                 }
+                LOG.trace("field: {}", field);
 
-                boolean foundMatch = false;
-
-                // Try getting data using each of the field semantics in order
+                // Find the matching semantic fields, in the order of the field semantics
+                final List<SemanticField> matchingFields = new ArrayList<>();
                 for (FieldSemantics fieldSemantics : registrySemantics) {
-                    // Find the matching semantic field
-                    final SemanticField semanticField = findMatchingSemanticField(semanticFields, fieldSemantics);
+                    final SemanticField semanticField = semanticFieldIndex.find(fieldSemantics);
                     if (semanticField != null) {
-                        foundMatch = true;
                         LOG.trace("Match found: {} -> {}", fieldSemantics, semanticField);
-
-                        FieldData fieldData = null;
-                        try {
-                            fieldData = fieldDataProvider.getFieldData(semanticField, new TypeDescriptor(field));
-                        } catch (SemanticMappingException e) {
-                            LOG.error("Exception while getting field data for: " + field, e);
-                        }
-
-                        if (fieldData != null) {
-                            final Object fieldValue = fieldData.getFieldValue();
-                            if (fieldValue != null) {
-                                if (LOG.isTraceEnabled()) {
-                                    LOG.trace("Setting field value: {} -> {}", field.getName(), fieldValue);
-                                }
-
-                                field.setAccessible(true);
-                                if (field.getType().equals(RichText.class) && fieldValue.getClass().equals(String.class)) {
-                                    field.set(entity, new RichText((String) fieldValue));
-                                } else {
-                                    field.set(entity, fieldValue);
-                                }
-
-                                final String propertyData = fieldData.getPropertyData();
-                                if (!Strings.isNullOrEmpty(propertyData)) {
-                                    propertyDataBuilder.put(field.getName(), propertyData);
-                                }
-
-                                break;
-                            }
-                        }
+                        matchingFields.add(semanticField);
                     }
                 }
 
-                // Special cases - only try these when nothing was found yet
-                if (!foundMatch) {
+                // Special cases - only used when nothing matched
+                final List<String> specialPropertyNames = new ArrayList<>();
+                if (matchingFields.isEmpty()) {
                     for (FieldSemantics fieldSemantics : registrySemantics) {
                         final String propertyName = fieldSemantics.getPropertyName();
-                        if (propertyName.equals(SELF_PROPERTY)) {
-                            foundMatch = true;
-                            Object fieldData = null;
-                            try {
-                                fieldData = fieldDataProvider.getSelfFieldData(new TypeDescriptor(field));
-                            } catch (SemanticMappingException e) {
-                                LOG.error("Exception while getting self property data for: " + field, e);
-                            }
-
-                            if (fieldData != null) {
-                                field.setAccessible(true);
-                                field.set(entity, fieldData);
-                                break;
-                            }
-                        } else if (propertyName.equals(ALL_PROPERTY)) {
-                            foundMatch = true;
-                            Map<String, String> fieldData = null;
-                            try {
-                                fieldData = fieldDataProvider.getAllFieldData();
-                            } catch (SemanticMappingException e) {
-                                LOG.error("Exception while getting all property data for: " + field, e);
-                            }
-
-                            if (fieldData != null) {
-                                field.setAccessible(true);
-                                field.set(entity, fieldData);
-                                break;
-                            }
+                        if (propertyName.equals(SELF_PROPERTY) || propertyName.equals(ALL_PROPERTY)) {
+                            specialPropertyNames.add(propertyName);
                         }
                     }
                 }
 
-                if (LOG.isDebugEnabled() && !foundMatch && !registrySemantics.isEmpty()) {
+                if (matchingFields.isEmpty() && specialPropertyNames.isEmpty()) {
                     // This not necessarily means there is a problem; for some components in the input, not all fields
                     // of the entity are mapped
                     LOG.trace("No match found for field: {}; registry semantics: {} did not match with supplied " +
                             "semantics: {}", new Object[]{field, registrySemantics, semanticFields});
+                    return;
                 }
+
+                plan.add(new FieldMapping(field, accessorFactory.getFieldSetter(field), matchingFields,
+                        specialPropertyNames));
             }
         });
 
-        // Set property data (used for semantic markup)
-        if (AbstractEntityModel.class.isAssignableFrom(entity.getClass())) {
-            ((AbstractEntityModel) entity).setXpmPropertyMetadata(propertyDataBuilder.build());
-        }
-        LOG.trace("entity: {}", entity);
-        return entity;
+        return plan;
     }
 
-
     private <T extends ViewModel> T createInstance(Class<? extends T> entityClass) throws SemanticMappingException {
         if (LOG.isTraceEnabled()) {
             LOG.trace("entityClass: {}", entityClass.getName());
         }
         try {
-            return entityClass.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
+            return accessorFactory.getInstantiator(entityClass).newInstance();
+        } catch (ReflectiveOperationException e) {
             throw new SemanticMappingException("Exception while creating instance of entity class: " +
                     entityClass.getName(), e);
         }
     }
 
-    private SemanticField findMatchingSemanticField(Map<FieldSemantics, SemanticField> semanticFields,
-                                                    FieldSemantics fieldSemantics) {
-        SemanticField matchingField = null;
+    /**
+     * The index of a set of semantic fields, and the mapping plans for it per entity class.
+     */
+    private static final class MappingPlans {
+        private final SemanticFieldIndex index;
+        private final ConcurrentMap<Class<?>, List<FieldMapping>> plans = new ConcurrentHashMap<>();
 
-        for (Map.Entry<FieldSemantics, SemanticField> entry : semanticFields.entrySet()) {
-            FieldSemantics f = entry.getKey();
-            if (f.getEntityName().equals(fieldSemantics.getEntityName())
-                    && f.getPropertyName().equals(fieldSemantics.getPropertyName())
-                    && f.getVocabulary().equals(fieldSemantics.getVocabulary())) {
-                matchingField = entry.getValue();
-            } else {
-                if (f.getEntityName().equals("StandardMetadata")
-                        && f.getPropertyName().equals(fieldSemantics.getPropertyName())) {
-                    matchingField = entry.getValue();
-                }
-            }
+        private MappingPlans(SemanticFieldIndex index) {
+            this.index = index;
         }
 
-        if (matchingField == null) {
-            // Search all embedded fields recursively
-            for (SemanticField semanticField : semanticFields.values()) {
-                matchingField = findMatchingSemanticField(semanticField.getEmbeddedFields(), fieldSemantics);
-                if (matchingField != null) {
-                    break;
-                }
-            }
+        public SemanticFieldIndex getIndex() {
+            return index;
+        }
+
+        public ConcurrentMap<Class<?>, List<FieldMapping>> getPlans() {
+            return plans;
+        }
+    }
+
+    /**
+     * How to map a field of an entity: the matching semantic fields to try in order or, if there are none, the special
+     * properties to try in order.
+     */
+    private static final class FieldMapping {
+        private final Field field;
+        private final ModelAccessorFactory.FieldSetter setter;
+        private final TypeDescriptor typeDescriptor;
+        private final List<SemanticField> semanticFields;
+        private final List<String> specialPropertyNames;
+
+        private FieldMapping(Field field, ModelAccessorFactory.FieldSetter setter, List<SemanticField> semanticFields,
+                             List<String> specialPropertyNames) {
+            this.field = field;
+            this.setter = setter;
+            this.typeDescriptor = new TypeDescriptor(field);
+            this.semanticFields = semanticFields;
+            this.specialPropertyNames = specialPropertyNames;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public ModelAccessorFactory.FieldSetter getSetter() {
+            return setter;
         }
 
-        return matchingField;
+        public TypeDescriptor getTypeDescriptor() {
+            return typeDescriptor;
+        }
+
+        public List<SemanticField> getSemanticFields() {
+            return semanticFields;
+        }
+
+        public List<String> getSpecialPropertyNames() {
+            return specialPropertyNames;
+        }
     }
 }
@@ -1,5 +1,10 @@
 package com.sdl.webapp.common.impl.mapping;
 
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
@@ -42,6 +47,28 @@ public class SemanticMappingRegistryImpl implements SemanticMappingRegistry {
     private final SetMultimap<Class<? extends EntityModel>, SemanticEntityInfo> semanticEntityInfo = LinkedHashMultimap.create();
     private final SetMultimap<Field, SemanticPropertyInfo> semanticPropertyInfo = LinkedHashMultimap.create();
 
+    /**
+     * Entity classes by entity name; if more than one entity class has the same entity name, the one that was
+     * registered first.
+     */
+    private volatile Map<String, Class<? extends EntityModel>> entityClassesByName = ImmutableMap.of();
+
+    /**
+     * Results of {@link #getEntityClassByFullyQualifiedName(String)}. The names are matched by prefix and suffix, which
+     * cannot be indexed directly, so the results are remembered instead; they are cleared when an entity is registered.
+     */
+    private final LoadingCache<String, Optional<Class<? extends EntityModel>>> entityClassesByFullyQualifiedName =
+            CacheBuilder.newBuilder()
+                    .maximumSize(10000)
+                    .build(new CacheLoader<String, Optional<Class<? extends EntityModel>>>() {
+                        @Override
+                        public Optional<Class<? extends EntityModel>> load(String entityName) {
+                            final Class<? extends EntityModel> entityClass =
+                                    findEntityClassByFullyQualifiedName(entityName);
+                            return Optional.<Class<? extends EntityModel>>fromNullable(entityClass);
+                        }
+                    });
+
     @Override
     public Set<FieldSemantics> getFieldSemantics(Field field) {
         final Set<FieldSemantics> fieldSemanticsList = fieldSemanticsMap.get(field);
@@ -111,6 +138,7 @@ public class SemanticMappingRegistryImpl implements SemanticMappingRegistry {
         final Map<String, SemanticEntityInfo> entityInfoMap = createSemanticEntityInfo(entityClass);
 
         semanticEntityInfo.putAll(entityClass, entityInfoMap.values());
+        updateEntityClassIndexes(entityClass, entityInfoMap.values());
 
         final Map<String, SemanticVocabulary> vocabularies = new HashMap<>();
 
@@ -143,21 +171,29 @@ public class SemanticMappingRegistryImpl implements SemanticMappingRegistry {
         }
     }
 
-    @Override
-    public Class<? extends EntityModel> getEntityClass(String entityName) {
-        for (Class<? extends EntityModel> entityClass : semanticEntityInfo.keys()) {
-            Set<SemanticEntityInfo> entityInfoList = semanticEntityInfo.get(entityClass);
-            for (SemanticEntityInfo entityInfo : entityInfoList) {
-                if (entityInfo.getEntityName().equals(entityName)) {
-                    return entityClass;
-                }
+    private synchronized void updateEntityClassIndexes(Class<? extends EntityModel> entityClass,
+                                                       Iterable<SemanticEntityInfo> entityInfoList) {
+        final Map<String, Class<? extends EntityModel>> byName = new LinkedHashMap<>(entityClassesByName);
+        for (SemanticEntityInfo entityInfo : entityInfoList) {
+            if (!byName.containsKey(entityInfo.getEntityName())) {
+                byName.put(entityInfo.getEntityName(), entityClass);
             }
         }
-        return null;
+        entityClassesByName = ImmutableMap.copyOf(byName);
+        entityClassesByFullyQualifiedName.invalidateAll();
+    }
+
+    @Override
+    public Class<? extends EntityModel> getEntityClass(String entityName) {
+        return entityName != null ? entityClassesByName.get(entityName) : null;
     }
 
     @Override
     public Class<? extends EntityModel> getEntityClassByFullyQualifiedName(String entityName) {
+        return entityClassesByFullyQualifiedName.getUnchecked(entityName).orNull();
+    }
+
+    private Class<? extends EntityModel> findEntityClassByFullyQualifiedName(String entityName) {
 
         String[] entityNameSplit = entityName.split(":");
         List<Class<? extends EntityModel>> possibleValues = new ArrayList<>();
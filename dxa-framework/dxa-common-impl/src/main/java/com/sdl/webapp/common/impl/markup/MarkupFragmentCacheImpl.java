@@ -0,0 +1,167 @@
+package com.sdl.webapp.common.impl.markup;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.MediaHelper;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.ViewModel;
+import com.sdl.webapp.common.api.model.entity.ExceptionEntity;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.controller.CoreAreaConstants;
+import com.sdl.webapp.common.markup.MarkupFragmentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@code MarkupFragmentCache}.
+ * <p/>
+ * Only the views of entities that are rendered by the default entity controller are cached; entities with their own
+ * controller (lists, navigation, etc.) are enriched for each request, so their output may depend on the request. A
+ * fragment is kept per localization, include path (which contains the entity ID), MVC data, HTML classes, container
+ * size, device family and the screen and media width that responsive images are sized for. Fragments are never cached
+ * for preview (XPM) requests.
+ * <p/>
+ * A cached fragment is discarded when its localization is refreshed, when the {@code PublicationChangeTracker}
+ * notices that something was published in the localization after the fragment started rendering, or after the
+ * time-to-live.
+ * <p/>
+ * The cache is disabled by default; set {@code fragmentCacheEnabled} to enable it.
+ */
+@Component
+public class MarkupFragmentCacheImpl implements MarkupFragmentCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MarkupFragmentCacheImpl.class);
+
+    @Value("#{environment.getProperty('fragmentCacheEnabled', 'false')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('fragmentCacheMaxSize', '2000')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('fragmentCacheTimeToLive', '300')}")
+    private int timeToLive;
+
+    @Autowired
+    private WebRequestContext webRequestContext;
+
+    @Autowired
+    private MediaHelper mediaHelper;
+
+    @Autowired
+    private PublicationChangeTracker publicationChangeTracker;
+
+    private Cache<String, CachedFragment> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public String getKey(String include, ViewModel model) {
+        if (!enabled || !(model instanceof EntityModel) || model instanceof ExceptionEntity ||
+                include.equals(ControllerUtils.getIncludeErrorPath())) {
+            return null;
+        }
+
+        final EntityModel entity = (EntityModel) model;
+        final MvcData mvcData = entity.getMvcData();
+        if (Strings.isNullOrEmpty(entity.getId()) || mvcData == null || isCustomAction(mvcData)) {
+            return null;
+        }
+
+        final Localization localization = webRequestContext.getLocalization();
+        if (localization == null || webRequestContext.isPreview()) {
+            return null;
+        }
+
+        return localization.getId() + ":" + webRequestContext.getContextEngine().getDeviceFamily() + ":" +
+                mediaHelper.getScreenWidth() + ":" + webRequestContext.getMaxMediaWidth() + ":" +
+                webRequestContext.getContainerSize() + ":" + getKey(mvcData) + ":" + entity.getHtmlClasses() + ":" +
+                include;
+    }
+
+    private static String getKey(MvcData mvcData) {
+        return mvcData.getControllerAreaName() + "/" + mvcData.getControllerName() + "/" + mvcData.getActionName() +
+                ":" + mvcData.getAreaName() + "/" + mvcData.getViewName() + ":" + mvcData.getRegionAreaName() + "/" +
+                mvcData.getRegionName() + ":" + getKey(mvcData.getRouteValues()) + ":" + getKey(mvcData.getMetadata());
+    }
+
+    private static String getKey(Map<String, ?> values) {
+        // Sorted, so that the key does not depend on the order of the entries
+        return values != null ? new TreeMap<>(values).toString() : "";
+    }
+
+    @Override
+    public String get(String key) {
+        final CachedFragment fragment = cache.getIfPresent(key);
+        if (fragment == null) {
+            return null;
+        }
+
+        // Refreshing a localization creates a new Localization object
+        final Localization localization = webRequestContext.getLocalization();
+        if (fragment.getLocalization() != localization ||
+                fragment.getCreated() <= publicationChangeTracker.getLastPublished(localization.getId())) {
+            LOG.debug("Content has been published, removing cached fragment: {}", key);
+            cache.invalidate(key);
+            return null;
+        }
+
+        LOG.trace("Using cached fragment: {}", key);
+        return fragment.getMarkup();
+    }
+
+    @Override
+    public void put(String key, String markup, long renderStarted) {
+        LOG.trace("Caching fragment: {}", key);
+        cache.put(key, new CachedFragment(webRequestContext.getLocalization(), markup, renderStarted));
+    }
+
+    private static boolean isCustomAction(MvcData mvcData) {
+        return !Objects.equals(mvcData.getControllerAreaName(), CoreAreaConstants.CORE_AREA_NAME) ||
+                !Objects.equals(mvcData.getControllerName(), CoreAreaConstants.ENTITY_CONTROLLER_NAME) ||
+                !Objects.equals(mvcData.getActionName(), CoreAreaConstants.ENTITY_ACTION_NAME);
+    }
+
+    private static final class CachedFragment {
+        private final WeakReference<Localization> localization;
+        private final String markup;
+        private final long created;
+
+        private CachedFragment(Localization localization, String markup, long created) {
+            this.localization = new WeakReference<>(localization);
+            this.markup = markup;
+            this.created = created;
+        }
+
+        public Localization getLocalization() {
+            return localization.get();
+        }
+
+        public String getMarkup() {
+            return markup;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+}
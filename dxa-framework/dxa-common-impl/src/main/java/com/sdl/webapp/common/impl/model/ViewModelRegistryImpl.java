@@ -1,7 +1,5 @@
 package com.sdl.webapp.common.impl.model;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.Maps;
 import com.sdl.webapp.common.api.mapping.SemanticMappingRegistry;
 import com.sdl.webapp.common.api.model.EntityModel;
 import com.sdl.webapp.common.api.model.MvcData;
@@ -17,78 +15,70 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
+import java.util.Set;
+
+/**
+ * Implementation of {@code ViewModelRegistry}.
+ * <p/>
+ * The registered views are kept in an immutable index, which is replaced by a new index when a view is registered. So
+ * lookups, which happen for every entity and region of every request, take no lock and are hash lookups; registering
+ * views, which happens when the modules are initialized, copies the index. Where several registered views match a
+ * lookup, the one that was registered first is used.
+ */
 @Component
 public class ViewModelRegistryImpl implements ViewModelRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(ViewModelRegistryImpl.class);
 
     // todo TSI-1063 should not be static
-    private static final Map<MvcData, Class<? extends ViewModel>> viewEntityClassMap = new HashMap<>();
+    private static volatile ViewIndex viewIndex = new ViewIndex();
 
-    private static Lock lock = new ReentrantLock();
+    private static final Object lock = new Object();
 
     @Autowired
     private SemanticMappingRegistry semanticMappingRegistry;
 
     @Override
     public void registerViewModel(MvcData viewData, Class<? extends ViewModel> entityClass) {
-        try {
-            if (lock.tryLock(10, TimeUnit.SECONDS)) {
-                if (viewData != null) {
-                    if (viewEntityClassMap.containsKey(viewData)) {
-                        LOG.warn("View % registered multiple times.", viewData);
-                        return;
-                    }
-                    viewEntityClassMap.put(viewData, entityClass);
+        synchronized (lock) {
+            if (viewData != null) {
+                if (viewIndex.contains(viewData)) {
+                    LOG.warn("View {} registered multiple times.", viewData);
+                    return;
                 }
-                semanticMappingRegistry.registerEntity((Class<? extends EntityModel>) entityClass);
+                viewIndex = viewIndex.with(viewData, entityClass);
             }
-        } catch (InterruptedException e) {
-            LOG.warn(e.getMessage(), e);
-        } finally {
-            lock.unlock();
+            semanticMappingRegistry.registerEntity((Class<? extends EntityModel>) entityClass);
         }
     }
 
     @Override
     public Class<? extends ViewModel> getViewModelType(final MvcData viewData) throws DxaException {
+        final ViewIndex index = viewIndex;
 
-        Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>> keyNamePredicate =
-                new Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>>() {
-                    @Override
-                    public boolean apply(Map.Entry<MvcData, Class<? extends ViewModel>> input) {
-                        MvcData thisKey = input.getKey();
-                        return thisKey.getViewName().equals(viewData.getViewName()) &&
-                                thisKey.getControllerName().equals(viewData.getControllerName()) &&
-                                thisKey.getAreaName().equals(viewData.getAreaName());
-                    }
-                };
-        Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>> keyNamePredicateNoArea =
-                new Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>>() {
-                    @Override
-                    public boolean apply(Map.Entry<MvcData, Class<? extends ViewModel>> input) {
-                        MvcData thisKey = input.getKey();
-                        return thisKey.getViewName().equals(viewData.getViewName()) &&
-                                (thisKey.getControllerName().equals(viewData.getControllerName()) || viewData.getControllerName() == null);
-                    }
-                };
-        Map<MvcData, Class<? extends ViewModel>> possibleValues = Maps.filterEntries(viewEntityClassMap, keyNamePredicate);
-        if (possibleValues.isEmpty()) {
-            //first let's see if there is another relevant view
-            possibleValues = Maps.filterEntries(viewEntityClassMap, keyNamePredicateNoArea);
+        Class<? extends ViewModel> viewModelType = null;
+        if (viewData.getViewName() != null) {
+            if (viewData.getControllerName() != null && viewData.getAreaName() != null) {
+                viewModelType = index.byAreaControllerAndView.get(
+                        key(viewData.getAreaName(), viewData.getControllerName(), viewData.getViewName()));
+            }
+            if (viewModelType == null) {
+                //first let's see if there is another relevant view
+                viewModelType = viewData.getControllerName() != null ?
+                        index.byControllerAndView.get(key(viewData.getControllerName(), viewData.getViewName())) :
+                        index.byView.get(viewData.getViewName());
+            }
         }
-        if (possibleValues.isEmpty()) {
+
+        if (viewModelType == null) {
             throw new DxaException(String.format("Could not find a view model for the view data %s", viewData));
-        } else {
-            return possibleValues.entrySet().iterator().next().getValue();
         }
+        return viewModelType;
     }
 
     @Override
@@ -116,21 +106,73 @@ public class ViewModelRegistryImpl implements ViewModelRegistry {
             areaName = parts[0];
             scopedViewName = parts[1];
         }
-        Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>> keyNamePredicate =
-                new Predicate<Map.Entry<MvcData, Class<? extends ViewModel>>>() {
-                    @Override
-                    public boolean apply(Map.Entry<MvcData, Class<? extends ViewModel>> input) {
-                        return input.getKey().getAreaName().equals(areaName) && input.getKey().getViewName().equals(scopedViewName);
-                    }
-                };
 
-
-        Map<MvcData, Class<? extends ViewModel>> possibleValues = Maps.filterEntries(viewEntityClassMap, keyNamePredicate);
-        if (possibleValues.isEmpty()) {
+        final Class<? extends ViewModel> viewEntityClass = viewIndex.byAreaAndView.get(key(areaName, scopedViewName));
+        if (viewEntityClass == null) {
             throw new DxaException(String.format("Could not find a view model for the view name %s", viewName));
-        } else {
-            return possibleValues.entrySet().iterator().next().getValue();
+        }
+        return viewEntityClass;
+    }
+
+    private static List<String> key(String... names) {
+        return Arrays.asList(names);
+    }
+
+    /**
+     * Immutable index of the registered views. Views are looked up by area, controller and view name; by controller
+     * and view name; by view name only; and by area and view name.
+     */
+    private static final class ViewIndex {
+        private final Set<MvcData> viewData;
+        private final Map<List<String>, Class<? extends ViewModel>> byAreaControllerAndView;
+        private final Map<List<String>, Class<? extends ViewModel>> byControllerAndView;
+        private final Map<String, Class<? extends ViewModel>> byView;
+        private final Map<List<String>, Class<? extends ViewModel>> byAreaAndView;
+
+        private ViewIndex() {
+            this(new HashSet<MvcData>(), new HashMap<List<String>, Class<? extends ViewModel>>(),
+                    new HashMap<List<String>, Class<? extends ViewModel>>(),
+                    new HashMap<String, Class<? extends ViewModel>>(),
+                    new HashMap<List<String>, Class<? extends ViewModel>>());
+        }
+
+        private ViewIndex(Set<MvcData> viewData,
+                          Map<List<String>, Class<? extends ViewModel>> byAreaControllerAndView,
+                          Map<List<String>, Class<? extends ViewModel>> byControllerAndView,
+                          Map<String, Class<? extends ViewModel>> byView,
+                          Map<List<String>, Class<? extends ViewModel>> byAreaAndView) {
+            this.viewData = viewData;
+            this.byAreaControllerAndView = byAreaControllerAndView;
+            this.byControllerAndView = byControllerAndView;
+            this.byView = byView;
+            this.byAreaAndView = byAreaAndView;
+        }
+
+        public boolean contains(MvcData mvcData) {
+            return viewData.contains(mvcData);
+        }
+
+        /**
+         * Creates a new index with a view added to the views of this index.
+         */
+        public ViewIndex with(MvcData mvcData, Class<? extends ViewModel> entityClass) {
+            final ViewIndex index = new ViewIndex(new HashSet<>(viewData), new HashMap<>(byAreaControllerAndView),
+                    new HashMap<>(byControllerAndView), new HashMap<>(byView), new HashMap<>(byAreaAndView));
+
+            index.viewData.add(mvcData);
+            putIfAbsent(index.byAreaControllerAndView,
+                    key(mvcData.getAreaName(), mvcData.getControllerName(), mvcData.getViewName()), entityClass);
+            putIfAbsent(index.byControllerAndView, key(mvcData.getControllerName(), mvcData.getViewName()), entityClass);
+            putIfAbsent(index.byView, mvcData.getViewName(), entityClass);
+            putIfAbsent(index.byAreaAndView, key(mvcData.getAreaName(), mvcData.getViewName()), entityClass);
+            return index;
         }
 
+        private static <K> void putIfAbsent(Map<K, Class<? extends ViewModel>> map, K key,
+                                            Class<? extends ViewModel> entityClass) {
+            if (!map.containsKey(key)) {
+                map.put(key, entityClass);
+            }
+        }
     }
 }
@@ -1,9 +1,12 @@
 package com.sdl.webapp.common.impl.taglib.dxa;
 
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.model.AnchoredLinkFragment;
 import com.sdl.webapp.common.api.model.EntityModel;
 import com.sdl.webapp.common.api.model.RichText;
 import com.sdl.webapp.common.api.model.RichTextFragment;
 import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.controller.OutputCacheControl;
 import com.sdl.webapp.common.markup.AbstractMarkupTag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +16,7 @@ import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspWriter;
 import java.io.IOException;
 
+
 public class RichTextTag extends AbstractMarkupTag {
     private static final Logger LOG = LoggerFactory.getLogger(RichTextTag.class);
 
@@ -31,7 +35,13 @@ public class RichTextTag extends AbstractMarkupTag {
             for (RichTextFragment fragment : content.getFragments()) {
                 EntityModel entityModel = (fragment instanceof EntityModel ? (EntityModel) fragment : null);
                 String htmlFragment;
-                if (entityModel == null) {
+                if (fragment instanceof AnchoredLinkFragment) {
+                    // Whether the link points to the current page depends on the request, so do not cache the markup
+                    OutputCacheControl.disableCaching(pageContext.getRequest());
+                    final WebRequestContext webRequestContext = this.getWebRequestContext();
+                    htmlFragment = ((AnchoredLinkFragment) fragment).toHtml(
+                            webRequestContext.getContextPath() + webRequestContext.getRequestPath());
+                } else if (entityModel == null) {
                     htmlFragment = fragment.toHtml();
                 } else {
                     try {
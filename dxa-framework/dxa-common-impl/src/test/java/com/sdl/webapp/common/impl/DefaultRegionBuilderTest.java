@@ -0,0 +1,165 @@
+package com.sdl.webapp.common.impl;
+
+import com.sdl.webapp.common.api.content.ContentProviderException;
+import com.sdl.webapp.common.api.content.PrefetchingRegionBuilderCallback;
+import com.sdl.webapp.common.api.content.RegionBuilderCallback;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
+import com.sdl.webapp.common.api.model.RegionModel;
+import com.sdl.webapp.common.api.model.RegionModelSet;
+import com.sdl.webapp.common.api.model.ViewModelRegistry;
+import com.sdl.webapp.common.api.model.entity.Article;
+import com.sdl.webapp.common.api.model.entity.ExceptionEntity;
+import com.sdl.webapp.common.api.model.region.RegionModelImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+public class DefaultRegionBuilderTest {
+
+    private RequestTaskExecutorImpl executor;
+
+    private DefaultRegionBuilder regionBuilder;
+
+    private ViewModelRegistry viewModelRegistry;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = new RequestTaskExecutorImpl();
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "threads", 4);
+        ReflectionTestUtils.setField(executor, "queueSize", 10);
+        executor.init();
+
+        regionBuilder = new DefaultRegionBuilder();
+        ReflectionTestUtils.setField(regionBuilder, "requestTaskExecutor", executor);
+        ReflectionTestUtils.setField(regionBuilder, "concurrentEntityBuildingEnabled", true);
+
+        viewModelRegistry = mock(ViewModelRegistry.class);
+        doReturn(RegionModelImpl.class).when(viewModelRegistry).getViewModelType(any(MvcData.class));
+    }
+
+    @After
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void shouldKeepSourceOrderWhenBuildingConcurrently() throws Exception {
+        //when
+        RegionModelSet regions = regionBuilder.buildRegions(null, null, Arrays.asList("slow:Main", "fast:Main",
+                "other:Side", "last:Main"), new TestCallback(), null, viewModelRegistry);
+
+        //then
+        assertEntityIds(regions.get("Main"), "slow", "fast", "last");
+        assertEntityIds(regions.get("Side"), "other");
+    }
+
+    @Test
+    public void shouldReplaceFailedEntityWithExceptionEntity() throws Exception {
+        //when
+        RegionModelSet regions = regionBuilder.buildRegions(null, null, Arrays.asList("first:Main", "fail:Main",
+                "last:Main"), new TestCallback(), null, viewModelRegistry);
+
+        //then
+        List<EntityModel> entities = regions.get("Main").getEntities();
+        assertEquals(3, entities.size());
+        assertEquals("first", entities.get(0).getId());
+        assertTrue(entities.get(1) instanceof ExceptionEntity);
+        assertTrue(((ExceptionEntity) entities.get(1)).getException() instanceof ContentProviderException);
+        assertNotNull(entities.get(1).getMvcData());
+        assertEquals("last", entities.get(2).getId());
+    }
+
+    @Test(expected = ContentProviderException.class)
+    public void shouldFailWhenBuildingSequentially() throws Exception {
+        //given
+        ReflectionTestUtils.setField(regionBuilder, "concurrentEntityBuildingEnabled", false);
+
+        //when
+        regionBuilder.buildRegions(null, null, Arrays.asList("first:Main", "fail:Main"), new TestCallback(), null,
+                viewModelRegistry);
+    }
+
+    @Test
+    public void shouldPrefetchBeforeBuildingEntities() throws Exception {
+        //given
+        List<?> sourceList = Arrays.asList("first:Main", "last:Main");
+        PrefetchingRegionBuilderCallback callback = spy(new TestPrefetchingCallback());
+
+        //when
+        regionBuilder.buildRegions(null, null, sourceList, callback, null, viewModelRegistry);
+
+        //then
+        InOrder inOrder = inOrder(callback);
+        inOrder.verify(callback).prefetch(sourceList, null);
+        inOrder.verify(callback, atLeastOnce()).buildEntity(any(), any(Localization.class));
+    }
+
+    private static void assertEntityIds(RegionModel region, String... ids) {
+        List<EntityModel> entities = region.getEntities();
+        assertEquals(ids.length, entities.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], entities.get(i).getId());
+        }
+    }
+
+    /**
+     * Builds an entity for each source of the form "entityId:regionName".
+     */
+    private static class TestCallback implements RegionBuilderCallback {
+
+        @Override
+        public EntityModel buildEntity(Object source, Localization localization) throws ContentProviderException {
+            String id = source.toString().split(":")[0];
+            if (id.equals("fail")) {
+                throw new ContentProviderException("Failed to build entity");
+            }
+            if (id.equals("slow")) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new ContentProviderException(e);
+                }
+            }
+
+            Article article = new Article();
+            article.setId(id);
+            return article;
+        }
+
+        @Override
+        public String getRegionName(Object source) {
+            return source.toString().split(":")[1];
+        }
+
+        @Override
+        public MvcData getRegionMvcData(Object source) {
+            return new MvcDataImpl().setViewName(getRegionName(source));
+        }
+    }
+
+    private static class TestPrefetchingCallback extends TestCallback implements PrefetchingRegionBuilderCallback {
+
+        @Override
+        public void prefetch(List<?> sourceList, Localization localization) {
+        }
+    }
+}
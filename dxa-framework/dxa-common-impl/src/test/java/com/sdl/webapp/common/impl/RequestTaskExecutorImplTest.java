@@ -0,0 +1,114 @@
+package com.sdl.webapp.common.impl;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTaskExecutorImplTest {
+
+    private static RequestTaskExecutorImpl createExecutor(boolean enabled) {
+        RequestTaskExecutorImpl executor = new RequestTaskExecutorImpl();
+        ReflectionTestUtils.setField(executor, "enabled", enabled);
+        ReflectionTestUtils.setField(executor, "threads", 2);
+        ReflectionTestUtils.setField(executor, "queueSize", 10);
+        executor.init();
+        return executor;
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldRunTaskInCallingThreadWhenDisabled() throws Exception {
+        //given
+        RequestTaskExecutorImpl executor = createExecutor(false);
+
+        //when
+        Future<Thread> future = executor.submit(new Callable<Thread>() {
+            @Override
+            public Thread call() {
+                return Thread.currentThread();
+            }
+        });
+
+        //then
+        assertFalse(executor.isConcurrent());
+        assertTrue(future.isDone());
+        assertSame(Thread.currentThread(), future.get());
+    }
+
+    @Test
+    public void shouldRunTaskWithCopyOfRequestAttributesOfCallingThread() throws Exception {
+        //given
+        RequestTaskExecutorImpl executor = createExecutor(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Object bean = new Object();
+        request.setAttribute("bean", bean);
+        RequestAttributes requestAttributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+
+        //when
+        Future<Thread> thread = executor.submit(new Callable<Thread>() {
+            @Override
+            public Thread call() {
+                return Thread.currentThread();
+            }
+        });
+        Future<RequestAttributes> attributes = executor.submit(new Callable<RequestAttributes>() {
+            @Override
+            public RequestAttributes call() {
+                RequestAttributes taskAttributes = RequestContextHolder.getRequestAttributes();
+                taskAttributes.setAttribute("task", Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                return taskAttributes;
+            }
+        });
+
+        //then
+        assertTrue(executor.isConcurrent());
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertNotSame(requestAttributes, attributes.get());
+        assertSame(bean, attributes.get().getAttribute("bean", RequestAttributes.SCOPE_REQUEST));
+        assertNull(request.getAttribute("task"));
+        executor.destroy();
+    }
+
+    @Test
+    public void shouldRunNestedTaskInCallingThread() throws Exception {
+        //given
+        final RequestTaskExecutorImpl executor = createExecutor(true);
+
+        //when
+        Future<Boolean> future = executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                final Thread outer = Thread.currentThread();
+                Future<Thread> inner = executor.submit(new Callable<Thread>() {
+                    @Override
+                    public Thread call() {
+                        return Thread.currentThread();
+                    }
+                });
+                return inner.isDone() && inner.get() == outer;
+            }
+        });
+
+        //then
+        assertTrue(future.get());
+        executor.destroy();
+    }
+}
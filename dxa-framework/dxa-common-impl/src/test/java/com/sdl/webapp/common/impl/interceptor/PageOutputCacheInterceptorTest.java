@@ -0,0 +1,192 @@
+package com.sdl.webapp.common.impl.interceptor;
+
+import com.sdl.webapp.common.api.MediaHelper;
+import com.sdl.webapp.common.api.ScreenWidth;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.sdl.webapp.common.api.contextengine.ContextEngine;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.page.PageModelImpl;
+import com.sdl.webapp.common.api.model.region.RegionModelImpl;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.controller.OutputCacheControl;
+import com.sdl.webapp.common.controller.PageController;
+import com.sdl.webapp.common.controller.RequestAttributeNames;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PageOutputCacheInterceptorTest {
+
+    private PageOutputCacheInterceptor interceptor;
+
+    private WebRequestContext webRequestContext;
+
+    private ContextEngine contextEngine;
+
+    private PublicationChangeTracker publicationChangeTracker;
+
+    private HandlerMethod handler;
+
+    @Before
+    public void setUp() throws Exception {
+        Localization localization = mock(Localization.class);
+        when(localization.getId()).thenReturn("1");
+
+        contextEngine = mock(ContextEngine.class);
+        when(contextEngine.getDeviceFamily()).thenReturn("desktop");
+
+        webRequestContext = mock(WebRequestContext.class);
+        when(webRequestContext.getLocalization()).thenReturn(localization);
+        when(webRequestContext.getContextEngine()).thenReturn(contextEngine);
+        when(webRequestContext.getFullUrl()).thenReturn("http://localhost/about");
+        when(webRequestContext.getMaxMediaWidth()).thenReturn(1024);
+
+        MediaHelper mediaHelper = mock(MediaHelper.class);
+        when(mediaHelper.getScreenWidth()).thenReturn(ScreenWidth.LARGE);
+
+        publicationChangeTracker = mock(PublicationChangeTracker.class);
+
+        interceptor = new PageOutputCacheInterceptor(webRequestContext, mediaHelper, publicationChangeTracker);
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "maxSize", 10);
+        ReflectionTestUtils.setField(interceptor, "timeToLive", 60);
+        interceptor.init();
+
+        handler = new HandlerMethod(mock(PageController.class),
+                PageController.class.getMethod("handleGetPage", HttpServletRequest.class));
+    }
+
+    private void renderPage(MockHttpServletRequest request, int status, String contentType, String output)
+            throws Exception {
+        PageOutputCaptureResponse response = new PageOutputCaptureResponse(new MockHttpServletResponse());
+        if (interceptor.preHandle(request, response, handler)) {
+            response.setStatus(status);
+            response.setContentType(contentType);
+            response.getWriter().write(output);
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    @Test
+    public void shouldSendCachedPage() throws Exception {
+        //given
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_OK, "text/html;charset=UTF-8",
+                "<html/>");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean handle = interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), response, handler);
+
+        //then
+        assertFalse(handle);
+        assertEquals("<html/>", response.getContentAsString());
+        assertEquals("text/html;charset=UTF-8", response.getContentType());
+    }
+
+    @Test
+    public void shouldKeepPagesPerDeviceFamily() throws Exception {
+        //given
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_OK, "text/html", "<html/>");
+
+        //when
+        when(contextEngine.getDeviceFamily()).thenReturn("smartphone");
+
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+
+    @Test
+    public void shouldNotCachePagesOfRequestsWithQueryStringOrInPreview() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/about");
+        request.setQueryString("q=1");
+        renderPage(request, HttpServletResponse.SC_OK, "text/html", "<html/>");
+        when(webRequestContext.isPreview()).thenReturn(true);
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_OK, "text/html", "<html/>");
+
+        //when
+        when(webRequestContext.isPreview()).thenReturn(false);
+
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+
+    @Test
+    public void shouldOnlyCacheSuccessfulHtmlResponses() throws Exception {
+        //given
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_NOT_FOUND, "text/html",
+                "<html/>");
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_OK, "application/json", "{}");
+
+        //when
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+
+    @Test
+    public void shouldDiscardCachedPageWhenContentIsPublished() throws Exception {
+        //given
+        renderPage(new MockHttpServletRequest("GET", "/about"), HttpServletResponse.SC_OK, "text/html", "<html/>");
+
+        //when
+        when(publicationChangeTracker.getLastPublished("1")).thenReturn(System.currentTimeMillis() + 1000L);
+
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+
+    @Test
+    public void shouldNotCachePageWhenCachingIsDisabledWhileRendering() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/about");
+        PageOutputCaptureResponse response = new PageOutputCaptureResponse(new MockHttpServletResponse());
+        interceptor.preHandle(request, response, handler);
+
+        //when
+        OutputCacheControl entityOutput = OutputCacheControl.begin(request);
+        OutputCacheControl.disableCaching(request);
+        entityOutput.end(request);
+        response.setContentType("text/html");
+        response.getWriter().write("<html/>");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+
+    @Test
+    public void shouldNotCachePageWithEntityThatCouldNotBeBuilt() throws Exception {
+        //given
+        RegionModelImpl region = new RegionModelImpl("Main");
+        region.addEntity(ControllerUtils.createExceptionEntity(new Exception()));
+        PageModelImpl page = new PageModelImpl();
+        page.getRegions().add(region);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/about");
+        request.setAttribute(RequestAttributeNames.PAGE_MODEL, page);
+
+        //when
+        renderPage(request, HttpServletResponse.SC_OK, "text/html", "<html/>");
+
+        //then
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/about"), new MockHttpServletResponse(),
+                handler));
+    }
+}
@@ -0,0 +1,60 @@
+package com.sdl.webapp.common.impl.interceptor;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PageOutputCaptureResponseTest {
+
+    @Test
+    public void shouldOnlyCaptureOutputAfterCaptureIsStarted() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PageOutputCaptureResponse captureResponse = new PageOutputCaptureResponse(response);
+        captureResponse.getWriter().write("a");
+
+        //when
+        String before = captureResponse.getCapturedOutput();
+        captureResponse.startCapture();
+        captureResponse.getWriter().write("b");
+
+        //then
+        assertNull(before);
+        assertEquals("b", captureResponse.getCapturedOutput());
+        assertEquals("ab", response.getContentAsString());
+    }
+
+    @Test
+    public void shouldDiscardCapturedOutputWhenBufferIsReset() throws Exception {
+        //given
+        PageOutputCaptureResponse captureResponse = new PageOutputCaptureResponse(new MockHttpServletResponse());
+        captureResponse.startCapture();
+        captureResponse.getWriter().write("error");
+
+        //when
+        captureResponse.resetBuffer();
+        captureResponse.getWriter().write("page");
+
+        //then
+        assertEquals("page", captureResponse.getCapturedOutput());
+    }
+
+    @Test
+    public void shouldDiscardCapturedBytesWhenResponseIsReset() throws Exception {
+        //given
+        PageOutputCaptureResponse captureResponse = new PageOutputCaptureResponse(new MockHttpServletResponse());
+        captureResponse.setCharacterEncoding("UTF-8");
+        captureResponse.startCapture();
+        captureResponse.getOutputStream().write("error".getBytes("UTF-8"));
+
+        //when
+        captureResponse.reset();
+        captureResponse.setCharacterEncoding("UTF-8");
+        captureResponse.getOutputStream().write("page".getBytes("UTF-8"));
+
+        //then
+        assertEquals("page", captureResponse.getCapturedOutput());
+    }
+}
@@ -0,0 +1,95 @@
+package com.sdl.webapp.common.impl.mapping;
+
+import com.sdl.webapp.common.api.mapping.ModelAccessorFactory;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MethodHandleModelAccessorFactoryTest {
+
+    private final MethodHandleModelAccessorFactory factory = new MethodHandleModelAccessorFactory();
+
+    @Test
+    public void shouldCreateInstanceWithPrivateConstructor() throws Exception {
+        //when
+        TestModel model = factory.getInstantiator(TestModel.class).newInstance();
+
+        //then
+        assertNotNull(model);
+    }
+
+    @Test
+    public void shouldReuseInstantiator() throws Exception {
+        //when
+        ModelAccessorFactory.Instantiator<TestModel> first = factory.getInstantiator(TestModel.class);
+        ModelAccessorFactory.Instantiator<TestModel> second = factory.getInstantiator(TestModel.class);
+
+        //then
+        assertSame(first, second);
+    }
+
+    @Test(expected = InstantiationException.class)
+    public void shouldNotInstantiateAbstractClass() throws Exception {
+        //when
+        factory.getInstantiator(AbstractTestModel.class);
+    }
+
+    @Test
+    public void shouldWrapCheckedExceptionOfConstructor() throws Exception {
+        //given
+        ModelAccessorFactory.Instantiator<FailingTestModel> instantiator = factory.getInstantiator(FailingTestModel.class);
+
+        //when
+        try {
+            instantiator.newInstance();
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            //then
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void shouldSetPrivateFields() throws Exception {
+        //given
+        TestModel model = new TestModel();
+
+        //when
+        factory.getFieldSetter(TestModel.class.getDeclaredField("text")).set(model, "value");
+        factory.getFieldSetter(TestModel.class.getDeclaredField("number")).set(model, 42);
+
+        //then
+        assertEquals("value", model.text);
+        assertEquals(42, model.number);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotSetValueOfWrongType() throws Exception {
+        //when
+        factory.getFieldSetter(TestModel.class.getDeclaredField("text")).set(new TestModel(), 42);
+    }
+
+    private static class TestModel {
+        private String text;
+        private int number;
+
+        private TestModel() {
+        }
+    }
+
+    private abstract static class AbstractTestModel {
+    }
+
+    private static class FailingTestModel {
+        private FailingTestModel() throws IOException {
+            throw new IOException("failed");
+        }
+    }
+}
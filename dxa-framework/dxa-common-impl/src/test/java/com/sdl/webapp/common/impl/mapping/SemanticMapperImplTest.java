@@ -1,5 +1,6 @@
 package com.sdl.webapp.common.impl.mapping;
 
+import com.google.common.collect.ImmutableMap;
 import com.sdl.webapp.common.api.mapping.FieldData;
 import com.sdl.webapp.common.api.mapping.SemanticFieldDataProvider;
 import com.sdl.webapp.common.api.mapping.SemanticMappingException;
@@ -102,4 +103,27 @@ public class SemanticMapperImplTest {
         assertThat(propertyData, hasEntry("headline", "HeadlineField"));
         assertThat(propertyData, hasEntry("date", "DateCreatedField"));
     }
+
+    @Test
+    public void testCreateArticlesFromSameSchemaFields() throws SemanticMappingException, NoSuchFieldException {
+        final SemanticField headlineField = new SemanticField("headline", "/Article/headline", false, EMPTY_FIELDS_MAP);
+        final Map<FieldSemantics, SemanticField> schemaFields = ImmutableMap.of(
+                new FieldSemantics(SDL_CORE_VOCABULARY, "Article", "headline"), headlineField);
+
+        final TypeDescriptor headlineType = new TypeDescriptor(Article.class.getDeclaredField("headline"));
+
+        final SemanticFieldDataProvider fieldDataProvider1 = mock(SemanticFieldDataProvider.class);
+        when(fieldDataProvider1.getFieldData(headlineField, headlineType)).thenReturn(new FieldData("HEADLINE1", "HeadlineField"));
+
+        final SemanticFieldDataProvider fieldDataProvider2 = mock(SemanticFieldDataProvider.class);
+        when(fieldDataProvider2.getFieldData(headlineField, headlineType)).thenReturn(new FieldData("HEADLINE2", null));
+
+        final Article article1 = semanticMapper.createEntity(Article.class, schemaFields, fieldDataProvider1);
+        final Article article2 = semanticMapper.createEntity(Article.class, schemaFields, fieldDataProvider2);
+
+        assertThat(article1.getHeadline(), is("HEADLINE1"));
+        assertThat(article1.getXpmPropertyMetadata(), hasEntry("headline", "HeadlineField"));
+        assertThat(article2.getHeadline(), is("HEADLINE2"));
+        assertThat(article2.getXpmPropertyMetadata().isEmpty(), is(true));
+    }
 }
@@ -13,7 +13,7 @@ public class SemanticMapperImplTestConfig {
 
     @Bean
     public SemanticMapperImpl semanticMapperImpl() {
-        return new SemanticMapperImpl(semanticMappingRegistry());
+        return new SemanticMapperImpl(semanticMappingRegistry(), new MethodHandleModelAccessorFactory());
     }
 
     public SemanticMappingRegistry semanticMappingRegistry() {
@@ -16,6 +16,7 @@ import static com.sdl.webapp.common.api.mapping.config.SemanticVocabulary.SDL_CO
 import static com.sdl.webapp.common.api.mapping.config.SemanticVocabulary.SDL_CORE_VOCABULARY;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -54,6 +55,32 @@ public class SemanticMappingRegistryImplTest {
                         "field2")));
     }
 
+    @Test
+    public void testGetEntityClass() {
+        final SemanticMappingRegistryImpl registry = new SemanticMappingRegistryImpl();
+        registry.registerEntity(TestEntity1.class);
+        registry.registerEntity(TestEntity2.class);
+
+        assertThat("The entity class that was registered first should be used",
+                registry.getEntityClass("TestOne"), is((Object) TestEntity1.class));
+        assertThat(registry.getEntityClass("CoreOne"), is((Object) TestEntity1.class));
+        assertThat(registry.getEntityClass("Unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void testGetEntityClassByFullyQualifiedName() {
+        final SemanticMappingRegistryImpl registry = new SemanticMappingRegistryImpl();
+        registry.registerEntity(TestEntity1.class);
+
+        assertThat(registry.getEntityClassByFullyQualifiedName(SDL_TEST + ":TestOne"), is((Object) TestEntity1.class));
+        assertThat(registry.getEntityClassByFullyQualifiedName(SDL_TEST + ":TestTwo"), is(nullValue()));
+
+        registry.registerEntity(TestEntity2.class);
+
+        assertThat("Registering an entity class should be taken into account",
+                registry.getEntityClassByFullyQualifiedName(SDL_TEST + ":TestTwo"), is((Object) TestEntity2.class));
+    }
+
     @SemanticEntities({
             @SemanticEntity(entityName = "TestOne", vocabulary = SDL_TEST, prefix = "t"),
             @SemanticEntity(entityName = "CoreOne", vocabulary = SDL_CORE, prefix = "c")
@@ -69,4 +96,14 @@ public class SemanticMappingRegistryImplTest {
         @SemanticProperty("c:two")
         private int field2;
     }
+
+    @SemanticEntities({
+            @SemanticEntity(entityName = "TestOne", vocabulary = SDL_TEST, prefix = "t"),
+            @SemanticEntity(entityName = "TestTwo", vocabulary = SDL_TEST, prefix = "u")
+    })
+    public static class TestEntity2 extends AbstractEntityModel {
+
+        @SemanticProperty("u:F1")
+        private String field1;
+    }
 }
@@ -0,0 +1,153 @@
+package com.sdl.webapp.common.impl.markup;
+
+import com.sdl.webapp.common.api.MediaHelper;
+import com.sdl.webapp.common.api.ScreenWidth;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.sdl.webapp.common.api.contextengine.ContextEngine;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
+import com.sdl.webapp.common.api.model.entity.Article;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MarkupFragmentCacheImplTest {
+
+    private MarkupFragmentCacheImpl fragmentCache;
+
+    private WebRequestContext webRequestContext;
+
+    private PublicationChangeTracker publicationChangeTracker;
+
+    private static Article article(String id, String controllerName) {
+        Article article = new Article();
+        article.setId(id);
+        article.setMvcData(new MvcDataImpl()
+                .setControllerAreaName("Core")
+                .setControllerName(controllerName)
+                .setActionName(controllerName)
+                .setAreaName("Core")
+                .setViewName("Article"));
+        return article;
+    }
+
+    @Before
+    public void setUp() {
+        Localization localization = mock(Localization.class);
+        when(localization.getId()).thenReturn("1");
+
+        webRequestContext = mock(WebRequestContext.class);
+        when(webRequestContext.getLocalization()).thenReturn(localization);
+        when(webRequestContext.getContextEngine()).thenReturn(mock(ContextEngine.class));
+        when(webRequestContext.getContainerSize()).thenReturn(12);
+
+        MediaHelper mediaHelper = mock(MediaHelper.class);
+        when(mediaHelper.getScreenWidth()).thenReturn(ScreenWidth.LARGE);
+
+        publicationChangeTracker = mock(PublicationChangeTracker.class);
+
+        fragmentCache = new MarkupFragmentCacheImpl();
+        ReflectionTestUtils.setField(fragmentCache, "enabled", true);
+        ReflectionTestUtils.setField(fragmentCache, "maxSize", 10);
+        ReflectionTestUtils.setField(fragmentCache, "timeToLive", 60);
+        ReflectionTestUtils.setField(fragmentCache, "webRequestContext", webRequestContext);
+        ReflectionTestUtils.setField(fragmentCache, "mediaHelper", mediaHelper);
+        ReflectionTestUtils.setField(fragmentCache, "publicationChangeTracker", publicationChangeTracker);
+        fragmentCache.init();
+    }
+
+    @Test
+    public void shouldReturnCachedFragment() {
+        //given
+        Article article = article("1-2", "Entity");
+        String key = fragmentCache.getKey(ControllerUtils.getIncludePath(article), article);
+        fragmentCache.put(key, "<article/>", System.currentTimeMillis());
+
+        //when
+        //then
+        assertNotNull(key);
+        assertEquals("<article/>", fragmentCache.get(key));
+    }
+
+    @Test
+    public void shouldNotCacheFragmentsOfCustomControllersOrErrors() {
+        //given
+        Article article = article("1-2", "List");
+
+        //when
+        //then
+        assertNull(fragmentCache.getKey(ControllerUtils.getIncludePath(article), article));
+        assertNull(fragmentCache.getKey(ControllerUtils.getIncludeErrorPath(), article("1-2", "Entity")));
+    }
+
+    @Test
+    public void shouldNotCacheFragmentsInPreview() {
+        //given
+        Article article = article("1-2", "Entity");
+        when(webRequestContext.isPreview()).thenReturn(true);
+
+        //when
+        //then
+        assertNull(fragmentCache.getKey(ControllerUtils.getIncludePath(article), article));
+    }
+
+    @Test
+    public void shouldDiscardFragmentWhenContentIsPublished() {
+        //given
+        Article article = article("1-2", "Entity");
+        String key = fragmentCache.getKey(ControllerUtils.getIncludePath(article), article);
+        fragmentCache.put(key, "<article/>", System.currentTimeMillis());
+
+        //when
+        when(publicationChangeTracker.getLastPublished("1")).thenReturn(System.currentTimeMillis() + 1000L);
+
+        //then
+        assertNull(fragmentCache.get(key));
+    }
+
+    @Test
+    public void shouldKeepFragmentsPerMvcDataAndHtmlClasses() {
+        //given
+        Article article = article("1-2", "Entity");
+        String key = fragmentCache.getKey(ControllerUtils.getIncludePath(article), article);
+
+        Article withHtmlClasses = article("1-2", "Entity");
+        withHtmlClasses.setHtmlClasses("teaser");
+        Article withRegion = article("1-2", "Entity");
+        ((MvcDataImpl) withRegion.getMvcData()).setRegionName("Hero");
+        Article withMetadata = article("1-2", "Entity");
+        ((MvcDataImpl) withMetadata.getMvcData()).setMetadata(Collections.<String, Object>singletonMap("size", 2));
+
+        //when
+        //then
+        assertNotEquals(key, fragmentCache.getKey(ControllerUtils.getIncludePath(withHtmlClasses), withHtmlClasses));
+        assertNotEquals(key, fragmentCache.getKey(ControllerUtils.getIncludePath(withRegion), withRegion));
+        assertNotEquals(key, fragmentCache.getKey(ControllerUtils.getIncludePath(withMetadata), withMetadata));
+    }
+
+    @Test
+    public void shouldDiscardFragmentWhenContentIsPublishedWhileRendering() {
+        //given
+        Article article = article("1-2", "Entity");
+        String key = fragmentCache.getKey(ControllerUtils.getIncludePath(article), article);
+        long renderStarted = System.currentTimeMillis() - 1000L;
+
+        //when
+        when(publicationChangeTracker.getLastPublished("1")).thenReturn(renderStarted + 500L);
+        fragmentCache.put(key, "<article/>", renderStarted);
+
+        //then
+        assertNull(fragmentCache.get(key));
+    }
+}
@@ -0,0 +1,92 @@
+package com.sdl.webapp.common.impl.model;
+
+import com.sdl.webapp.common.api.mapping.SemanticMappingRegistry;
+import com.sdl.webapp.common.api.model.MvcData;
+import com.sdl.webapp.common.api.model.MvcDataImpl;
+import com.sdl.webapp.common.api.model.entity.Article;
+import com.sdl.webapp.common.api.model.entity.Teaser;
+import com.sdl.webapp.common.exceptions.DxaException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ViewModelRegistryImplTest {
+
+    private ViewModelRegistryImpl registry;
+
+    private SemanticMappingRegistry semanticMappingRegistry;
+
+    private static MvcData mvcData(String areaName, String controllerName, String viewName) {
+        return new MvcDataImpl().setAreaName(areaName).setControllerName(controllerName).setViewName(viewName);
+    }
+
+    @Before
+    public void setUp() {
+        semanticMappingRegistry = mock(SemanticMappingRegistry.class);
+        registry = new ViewModelRegistryImpl();
+        ReflectionTestUtils.setField(registry, "semanticMappingRegistry", semanticMappingRegistry);
+    }
+
+    @Test
+    public void shouldFindViewModelTypeByAreaControllerAndView() throws DxaException {
+        //given
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestArticle"), Article.class);
+        registry.registerViewModel(mvcData("OtherArea", "Entity", "TestArticle"), Teaser.class);
+
+        //when
+        //then
+        assertEquals(Article.class, registry.getViewModelType(mvcData("TestArea", "Entity", "TestArticle")));
+        assertEquals(Teaser.class, registry.getViewModelType(mvcData("OtherArea", "Entity", "TestArticle")));
+    }
+
+    @Test
+    public void shouldFallBackToControllerAndView() throws DxaException {
+        //given
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestFallback"), Article.class);
+
+        //when
+        //then
+        assertEquals(Article.class, registry.getViewModelType(mvcData("UnknownArea", "Entity", "TestFallback")));
+        assertEquals(Article.class, registry.getViewModelType(mvcData("UnknownArea", null, "TestFallback")));
+    }
+
+    @Test(expected = DxaException.class)
+    public void shouldNotFindViewModelTypeForOtherController() throws DxaException {
+        //given
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestController"), Article.class);
+
+        //when
+        registry.getViewModelType(mvcData("TestArea", "List", "TestController"));
+    }
+
+    @Test
+    public void shouldFindViewEntityClassByAreaAndView() throws DxaException {
+        //given
+        registry.registerViewModel(mvcData("Core", "Entity", "TestCoreView"), Article.class);
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestAreaView"), Teaser.class);
+
+        //when
+        //then
+        assertEquals(Article.class, registry.getViewEntityClass("TestCoreView"));
+        assertEquals(Teaser.class, registry.getViewEntityClass("TestArea:TestAreaView"));
+    }
+
+    @Test
+    public void shouldKeepFirstRegistrationOfView() throws DxaException {
+        //given
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestDuplicate"), Article.class);
+
+        //when
+        registry.registerViewModel(mvcData("TestArea", "Entity", "TestDuplicate"), Teaser.class);
+
+        //then
+        assertEquals(Article.class, registry.getViewModelType(mvcData("TestArea", "Entity", "TestDuplicate")));
+        verify(semanticMappingRegistry, times(1)).registerEntity(Article.class);
+        verify(semanticMappingRegistry, times(0)).registerEntity(Teaser.class);
+    }
+}
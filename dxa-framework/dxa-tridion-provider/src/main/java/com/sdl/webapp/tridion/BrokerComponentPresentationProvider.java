@@ -1,7 +1,5 @@
 package com.sdl.webapp.tridion;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.tridion.dcp.ComponentPresentationFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.dd4t.contentmodel.ComponentPresentation;
@@ -98,9 +96,10 @@ public class BrokerComponentPresentationProvider extends BaseBrokerProvider impl
                 // TODO: Use a more generic way of deserializing the DCP
                 // This can not be used as the default JSON factory does not do: addMixInAnnotations(Field.class, BaseFieldMixIn.class);
 
-                JsonNode parsedResult = JsonDataBinder.getGenericMapper().readTree(decodeAndDecompressContent(resultString));
-                final JsonParser parser = parsedResult.traverse();
-                return JsonDataBinder.getGenericMapper().readValue(parser, ComponentPresentationImpl.class);
+                // Bind directly from the JSON text instead of reading it into a tree first, so that only one object
+                // graph is created for the component presentation
+                return JsonDataBinder.getGenericMapper().readValue(decodeAndDecompressContent(resultString),
+                        ComponentPresentationImpl.class);
 
                 // TODO: Make this more error robust? So it can handle components as well?
 
@@ -114,7 +113,10 @@ public class BrokerComponentPresentationProvider extends BaseBrokerProvider impl
     /**
      * Convenience method to obtain a list of component presentations for the same template id.
      * <p/>
-     * TODO
+     * The content delivery API has no call that gets the content of several dynamic component presentations in one
+     * broker round trip, so the component presentations are still fetched one after the other; component
+     * presentations that cannot be found are left out. Page builds do not use this method: they prefetch the dynamic
+     * component presentations of a page concurrently on the {@code RequestTaskExecutor} instead.
      *
      * @param itemUris      array of found Component TCM IDs
      * @param templateId    the CT Id to fetch DCPs on
@@ -125,7 +127,20 @@ public class BrokerComponentPresentationProvider extends BaseBrokerProvider impl
      */
     @Override
     public List<ComponentPresentation> getDynamicComponentPresentations(final String[] itemUris, final int templateId, final int publicationId) throws ItemNotFoundException, SerializationException {
-        return new ArrayList<>();
+        final List<ComponentPresentation> componentPresentations = new ArrayList<>(itemUris.length);
+        for (String itemUri : itemUris) {
+            final int componentId = Integer.parseInt(itemUri.split("-")[1]);
+            try {
+                final ComponentPresentation componentPresentation =
+                        getDynamicComponentPresentation(componentId, templateId, publicationId);
+                if (componentPresentation != null) {
+                    componentPresentations.add(componentPresentation);
+                }
+            } catch (ItemNotFoundException e) {
+                LOG.debug("Leaving out component presentation that was not found: {}", itemUri, e);
+            }
+        }
+        return componentPresentations;
     }
 
     public void setConcreteComponentPresentation(final Class<? extends org.dd4t.contentmodel.ComponentPresentation> concreteComponentPresentation) {
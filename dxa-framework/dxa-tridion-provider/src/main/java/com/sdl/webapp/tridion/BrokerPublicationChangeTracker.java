@@ -0,0 +1,118 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.tridion.broker.StorageException;
+import com.tridion.broker.querying.Query;
+import com.tridion.broker.querying.criteria.Criteria;
+import com.tridion.broker.querying.criteria.content.ItemLastPublishedDateCriteria;
+import com.tridion.broker.querying.criteria.content.PublicationCriteria;
+import com.tridion.broker.querying.criteria.operators.AndCriteria;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@code PublicationChangeTracker} that periodically asks the broker for items of any type (pages,
+ * components, including those published as dynamic component presentations, and binaries) that were published since
+ * the previous check.
+ * <p/>
+ * A localization is tracked from the first time its last published time is asked for. To allow for clock differences
+ * between the deployer and this application, each check looks back one interval further than the previous check, so
+ * a publish may be noticed twice; this only makes output derived from the published content be discarded once more.
+ * Unpublishing is not noticed, since unpublished items are no longer in the broker; callers should bound how long
+ * they keep derived output with a time-to-live.
+ * <p/>
+ * The interval between checks is set with {@code publicationChangeCheckInterval} (in seconds).
+ */
+@Component
+public class BrokerPublicationChangeTracker implements PublicationChangeTracker {
+    private static final Logger LOG = LoggerFactory.getLogger(BrokerPublicationChangeTracker.class);
+
+    private static final DateTimeFormatter BROKER_DATE_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final ConcurrentMap<String, TrackedLocalization> localizations = new ConcurrentHashMap<>();
+
+    @Value("#{environment.getProperty('publicationChangeCheckInterval', '30')}")
+    private int checkInterval;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("dxa-publication-changes-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                checkAll();
+            }
+        }, checkInterval, checkInterval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public long getLastPublished(String localizationId) {
+        final TrackedLocalization localization = localizations.get(localizationId);
+        if (localization == null) {
+            LOG.debug("Tracking publishing in localization: {}", localizationId);
+            localizations.putIfAbsent(localizationId, new TrackedLocalization(DateTime.now()));
+            return 0L;
+        }
+        return localization.lastPublished;
+    }
+
+    private void checkAll() {
+        for (Map.Entry<String, TrackedLocalization> item : localizations.entrySet()) {
+            final TrackedLocalization localization = item.getValue();
+            final DateTime started = DateTime.now();
+            try {
+                final int publishedItems = countPublishedItems(Integer.parseInt(item.getKey()),
+                        localization.lastChecked.minusSeconds(checkInterval));
+                if (publishedItems > 0) {
+                    LOG.debug("Found {} published items in localization: {}", publishedItems, item.getKey());
+                    localization.lastPublished = System.currentTimeMillis();
+                }
+                localization.lastChecked = started;
+            } catch (StorageException | RuntimeException e) {
+                LOG.warn("Error while checking for published items in localization: {}", item.getKey(), e);
+            }
+        }
+    }
+
+    private static int countPublishedItems(int publicationId, DateTime publishedSince) throws StorageException {
+        final Query query = new Query(new AndCriteria(new Criteria[]{
+                new PublicationCriteria(publicationId),
+                new ItemLastPublishedDateCriteria(BROKER_DATE_FORMAT.print(publishedSince),
+                        Criteria.GREATER_THAN_OR_EQUAL)}));
+        return query.executeQuery().length;
+    }
+
+    private static final class TrackedLocalization {
+        private volatile DateTime lastChecked;
+        private volatile long lastPublished;
+
+        private TrackedLocalization(DateTime lastChecked) {
+            this.lastChecked = lastChecked;
+        }
+    }
+}
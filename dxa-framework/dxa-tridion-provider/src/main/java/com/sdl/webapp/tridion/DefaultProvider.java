@@ -10,11 +10,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import javax.imageio.ImageIO;
@@ -31,8 +33,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.webapp.common.api.RequestTaskExecutor;
 import com.sdl.webapp.common.api.content.ContentProvider;
 import com.sdl.webapp.common.api.content.ContentProviderException;
 import com.sdl.webapp.common.api.content.LinkResolver;
@@ -50,6 +55,7 @@ import com.sdl.webapp.common.api.model.entity.SitemapItem;
 import com.sdl.webapp.common.api.model.entity.Teaser;
 import com.sdl.webapp.common.exceptions.DxaException;
 import com.sdl.webapp.common.exceptions.DxaItemNotFoundException;
+import com.sdl.webapp.common.util.SingleFlight;
 import com.sdl.webapp.tridion.query.BrokerQuery;
 import com.sdl.webapp.tridion.query.BrokerQueryException;
 import com.tridion.broker.StorageException;
@@ -84,6 +90,7 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
     private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
     private static final String NAVIGATION_MODEL_URL = "/navigation.json";
     private static final String TYPE_STRUCTURE_GROUP = "StructureGroup";
+    private static final String NAVIGATION_CONTENT_ATTRIBUTE_PREFIX = DefaultProvider.class.getName() + ".navigationContent.";
     @Autowired
     private PageFactory dd4tPageFactory;
     @Autowired
@@ -96,27 +103,80 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
     private WebApplicationContext webApplicationContext;
     @Autowired
     private LinkResolver linkResolver;
+    @Autowired
+    private PageModelCache pageModelCache;
+    @Autowired
+    private MissingPageCache missingPageCache;
+    @Autowired
+    private NavigationModelCache navigationModelCache;
+    @Autowired
+    private PublishedPageIndex publishedPageIndex;
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
 
-    private static <T> T findPage(String path, Localization localization, TryFindPage<T> callback)
+    private <T> T findPage(String path, Localization localization, TryFindPage<T> callback)
             throws ContentProviderException {
-        String processedPath = processPath(path);
+        final String lookupPath = processPath(path);
+        String processedPath = lookupPath;
         final int publicationId = Integer.parseInt(localization.getId());
 
+        // Preview sessions may see pages that are not (yet) published, so these always ask the broker
+        if (!localization.isStaging() && publishedPageIndex.isAvailable(publicationId)) {
+            final T page = findIndexedPage(path, lookupPath, publicationId, callback);
+            if (page != null) {
+                return page;
+            }
+            // Pages that were published since the index was last synchronized are not in the index yet
+        }
+
+        final boolean useMissingPageCache = !localization.isStaging();
+        if (useMissingPageCache && missingPageCache.isMissing(publicationId, lookupPath)) {
+            LOG.debug("Page is known to be missing: [{}] {}", publicationId, lookupPath);
+            // No stack trace, this is the fast path for URLs that are requested over and over again
+            throw new PageNotFoundException("Page not found: [" + publicationId + "] " + lookupPath, null, false, false);
+        }
+
         LOG.debug("Try to find page: [{}] {}", publicationId, processedPath);
-        T page = callback.tryFindPage(processedPath, publicationId);
+        T page = callback.tryFindPage(processedPath, publicationId, false);
         if (page == null && !path.endsWith("/") && !hasExtension(path)) {
             processedPath = processPath(path + "/");
             LOG.debug("Try to find page: [{}] {}", publicationId, processedPath);
-            page = callback.tryFindPage(processedPath, publicationId);
+            page = callback.tryFindPage(processedPath, publicationId, false);
         }
 
         if (page == null) {
+            if (useMissingPageCache) {
+                missingPageCache.markMissing(publicationId, lookupPath);
+            }
             throw new PageNotFoundException("Page not found: [" + publicationId + "] " + processedPath);
         }
 
         return page;
     }
 
+    private <T> T findIndexedPage(String path, String lookupPath, int publicationId, TryFindPage<T> callback)
+            throws ContentProviderException {
+        String pageUrl = publishedPageIndex.getPageUrl(publicationId, lookupPath);
+        if (pageUrl == null && !path.endsWith("/") && !hasExtension(path)) {
+            pageUrl = publishedPageIndex.getPageUrl(publicationId, processPath(path + "/"));
+        }
+
+        if (pageUrl == null) {
+            LOG.debug("Page is not in the index of published pages: [{}] {}", publicationId, lookupPath);
+            return null;
+        }
+
+        LOG.debug("Try to find indexed page: [{}] {}", publicationId, pageUrl);
+        final T page = callback.tryFindPage(pageUrl, publicationId, true);
+        if (page == null) {
+            // The page has been unpublished since the index was built or last synchronized
+            publishedPageIndex.removePage(publicationId, pageUrl);
+            throw new PageNotFoundException("Page not found: [" + publicationId + "] " + pageUrl);
+        }
+
+        return page;
+    }
+
     private static String processPath(String path) {
         if (StringUtils.isEmpty(path)) {
             return DEFAULT_PAGE_NAME + DEFAULT_PAGE_EXTENSION;
@@ -138,10 +198,12 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
     public PageModel getPageModel(String path, final Localization localization) throws ContentProviderException {
         return findPage(path, localization, new TryFindPage<PageModel>() {
             @Override
-            public PageModel tryFindPage(String path, int publicationId) throws ContentProviderException {
+            public PageModel tryFindPage(String path, int publicationId, boolean published)
+                    throws ContentProviderException {
                 final org.dd4t.contentmodel.Page genericPage;
                 try {
-                    if (dd4tPageFactory.isPagePublished(path, publicationId)) {
+                    // No need for a separate existence check if the page is known to be published
+                    if (published || dd4tPageFactory.isPagePublished(path, publicationId)) {
                         genericPage = dd4tPageFactory.findPageByUrl(path, publicationId);
                     } else {
                         return null;
@@ -150,11 +212,34 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
                     LOG.debug("Page not found: [{}] {}", publicationId, path);
                     return null;
                 } catch (FactoryException e) {
+                    final PageModel stalePageModel = pageModelCache.getOnError(publicationId, path);
+                    if (stalePageModel != null) {
+                        LOG.warn("Exception while getting page, using stale page model for: [{}] {}", publicationId, path, e);
+                        return stalePageModel;
+                    }
                     throw new ContentProviderException("Exception while getting page model for: [" + publicationId +
                             "] " + path, e);
                 }
 
-                return modelBuilderPipeline.createPageModel(genericPage, localization, DefaultProvider.this);
+                // The page exists, so its views will most likely need the navigation model
+                final Future<String> navigationPrefetch = prefetchNavigationModel(localization);
+                boolean built = false;
+                try {
+                    final PageModel pageModel = pageModelCache.get(publicationId, path, genericPage,
+                            new SingleFlight.Loader<PageModel, ContentProviderException>() {
+                                @Override
+                                public PageModel load() throws ContentProviderException {
+                                    return modelBuilderPipeline.createPageModel(genericPage, localization,
+                                            DefaultProvider.this);
+                                }
+                            });
+                    built = true;
+                    return pageModel;
+                } finally {
+                    if (!built && navigationPrefetch != null) {
+                        cancelNavigationPrefetch(localization, navigationPrefetch);
+                    }
+                }
             }
         });
     }
@@ -179,13 +264,13 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
         }
     }
 
-    private InputStream getPageContent(String path, Localization localization) throws ContentProviderException {
-        return findPage(path, localization, new TryFindPage<InputStream>() {
+    private String getPageContent(String path, Localization localization) throws ContentProviderException {
+        return findPage(path, localization, new TryFindPage<String>() {
             @Override
-            public InputStream tryFindPage(String path, int publicationId) throws ContentProviderException {
-                final String pageContent;
+            public String tryFindPage(String path, int publicationId, boolean published)
+                    throws ContentProviderException {
                 try {
-                    pageContent = dd4tPageFactory.findSourcePageByUrl(path, publicationId);
+                    return dd4tPageFactory.findSourcePageByUrl(path, publicationId);
                 } catch (ItemNotFoundException e) {
                     LOG.debug("Page not found: [{}] {}", publicationId, path);
                     return null;
@@ -193,9 +278,82 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
                     throw new ContentProviderException("Exception while getting page content for: [" + publicationId +
                             "] " + path, e);
                 }
+            }
+        });
+    }
+
+    /**
+     * In concurrent assembly mode, starts fetching the navigation model content while the page is being built. The
+     * content is kept for the rest of the request; {@link #getNavigationModel(Localization)} still creates a new
+     * navigation model from it on each call, since callers may modify the navigation model.
+     *
+     * @return The prefetch that was started, or {@code null} if no prefetch was started by this call.
+     */
+    private Future<String> prefetchNavigationModel(final Localization localization) {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!requestTaskExecutor.isConcurrent() || requestAttributes == null) {
+            return null;
+        }
+
+        final String attributeName = NAVIGATION_CONTENT_ATTRIBUTE_PREFIX + localization.getId();
+        if (requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST) != null) {
+            return null;
+        }
 
-                // NOTE: This assumes page content is always in UTF-8 encoding
-                return new ByteArrayInputStream(pageContent.getBytes(StandardCharsets.UTF_8));
+        final String path = localization.localizePath(NAVIGATION_MODEL_URL);
+        final Future<String> prefetch = requestTaskExecutor.submit(new Callable<String>() {
+            @Override
+            public String call() throws ContentProviderException {
+                return fetchNavigationModelContent(path, localization);
+            }
+        });
+        requestAttributes.setAttribute(attributeName, prefetch, RequestAttributes.SCOPE_REQUEST);
+        return prefetch;
+    }
+
+    /**
+     * Cancels a navigation model prefetch that is no longer needed because the page could not be built, so that it
+     * does not keep running (or waiting) after the request.
+     */
+    private void cancelNavigationPrefetch(Localization localization, Future<String> prefetch) {
+        prefetch.cancel(true);
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(NAVIGATION_CONTENT_ATTRIBUTE_PREFIX + localization.getId(),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private String getNavigationModelContent(String path, Localization localization) throws ContentProviderException {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            final Object prefetched = requestAttributes.getAttribute(
+                    NAVIGATION_CONTENT_ATTRIBUTE_PREFIX + localization.getId(), RequestAttributes.SCOPE_REQUEST);
+            if (prefetched instanceof Future) {
+                try {
+                    return (String) ((Future<?>) prefetched).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ContentProviderException("Interrupted while getting navigation model", e);
+                } catch (ExecutionException e) {
+                    // Fetch it again below, so that the error is reported as it would be without prefetching
+                    LOG.debug("Prefetching navigation model failed for: [{}] {}", localization.getId(), path, e);
+                }
+            }
+        }
+        return fetchNavigationModelContent(path, localization);
+    }
+
+    private String fetchNavigationModelContent(final String path, final Localization localization)
+            throws ContentProviderException {
+        if (localization.isStaging()) {
+            return getPageContent(path, localization);
+        }
+
+        return navigationModelCache.get(localization.getId(), new SingleFlight.Loader<String, ContentProviderException>() {
+            @Override
+            public String load() throws ContentProviderException {
+                return getPageContent(path, localization);
             }
         });
     }
@@ -512,7 +670,7 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
     public SitemapItem getNavigationModel(Localization localization) throws NavigationProviderException {
         try {
             final String path = localization.localizePath(NAVIGATION_MODEL_URL);
-            return resolveLinks(objectMapper.readValue(this.getPageContent(path, localization),
+            return resolveLinks(objectMapper.readValue(getNavigationModelContent(path, localization),
                     SitemapItem.class), localization);
         } catch (ContentProviderException | IOException e) {
             throw new NavigationProviderException("Exception while loading navigation model", e);
@@ -620,7 +778,14 @@ public final class DefaultProvider implements ContentProvider, NavigationProvide
     }
 
     private interface TryFindPage<T> {
-        T tryFindPage(String path, int publicationId) throws ContentProviderException;
+        /**
+         * @param path          The path of the page.
+         * @param publicationId The publication ID.
+         * @param published     {@code true} if the page is known to be published, so that it does not need to be
+         *                      checked before it is fetched.
+         * @return The page, or {@code null} if it was not found.
+         */
+        T tryFindPage(String path, int publicationId, boolean published) throws ContentProviderException;
     }
 
     private static final class StaticContentFile {
@@ -1,12 +1,13 @@
 package com.sdl.webapp.tridion;
 
 import com.sdl.webapp.common.api.MediaHelper;
-import com.sdl.webapp.common.api.WebRequestContext;
 import com.sdl.webapp.common.api.content.ContentProviderException;
 import com.sdl.webapp.common.api.content.RichTextProcessor;
 import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.mapping.ModelAccessorFactory;
 import com.sdl.webapp.common.api.mapping.SemanticMappingException;
 import com.sdl.webapp.common.api.mapping.config.SemanticSchema;
+import com.sdl.webapp.common.api.model.AnchoredLinkFragment;
 import com.sdl.webapp.common.api.model.EntityModel;
 import com.sdl.webapp.common.api.model.RichText;
 import com.sdl.webapp.common.api.model.RichTextFragment;
@@ -59,11 +60,18 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
 
     public static final String EMBEDDED_ENTITY = "EmbeddedEntity";
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRichTextProcessor.class);
-    @Autowired
-    private MediaHelper mediaHelper;
+
+    /**
+     * Placeholder for the {@code href} attribute of an anchored link, followed by the index of the link; the attributes
+     * are rendered by an {@code AnchoredLinkFragment}.
+     */
+    private static final String ANCHORED_LINK_PLACEHOLDER = "dxa-anchored-link:";
+
+    private static final Pattern FRAGMENT_PATTERN = Pattern.compile(
+            "<\\?" + EMBEDDED_ENTITY + "\\s?\\?>|href=\"" + ANCHORED_LINK_PLACEHOLDER + "(\\d+)\"");
 
     @Autowired
-    private WebRequestContext webRequestContext;
+    private MediaHelper mediaHelper;
 
     @Autowired
     private TridionLinkResolver linkResolver;
@@ -74,6 +82,9 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
     @Autowired
     private ComponentPresentationFactory componentFactory;
 
+    @Autowired
+    private ModelAccessorFactory modelAccessorFactory;
+
     @Override
     public RichText processRichText(String xhtml, Localization localization) {
         try {
@@ -93,15 +104,16 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
             LOG.trace("entityClass: {}", entityClass.getName());
         }
         try {
-            return entityClass.newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
+            return modelAccessorFactory.getInstantiator(entityClass).newInstance();
+        } catch (ReflectiveOperationException e) {
             throw new SemanticMappingException("Exception while creating instance of entity class: " + entityClass.getName(), e);
         }
     }
 
     private RichText resolveRichText(Document doc, Localization localization)
             throws ContentProviderException, SemanticMappingException {
-        this.resolveLinks(doc);
+        final List<AnchoredLinkFragment> anchoredLinks = new ArrayList<>();
+        this.resolveLinks(doc, anchoredLinks);
         List<EntityModel> entityModels = this.resolveImages(doc, localization);
         Iterator<EntityModel> embeddedEntities = entityModels != null ?
                 entityModels.iterator() : Collections.<EntityModel>emptyListIterator();
@@ -113,16 +125,19 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
 
             int lastFragmentIndex = 0;
 
-            Pattern pattern = Pattern.compile("<\\?EmbeddedEntity\\s?\\?>");
-            Matcher matcher = pattern.matcher(xhtml);
+            Matcher matcher = FRAGMENT_PATTERN.matcher(xhtml);
 
             while (matcher.find()) {
-                int embeddedEntityIndex = matcher.start();
+                int fragmentIndex = matcher.start();
 
-                if (embeddedEntityIndex > lastFragmentIndex) {
-                    richTextFragments.add(new RichTextFragmentImpl(xhtml.substring(lastFragmentIndex, embeddedEntityIndex)));
+                if (fragmentIndex > lastFragmentIndex) {
+                    richTextFragments.add(new RichTextFragmentImpl(xhtml.substring(lastFragmentIndex, fragmentIndex)));
+                }
+                if (matcher.group(1) != null) {
+                    richTextFragments.add(anchoredLinks.get(Integer.parseInt(matcher.group(1))));
+                } else {
+                    richTextFragments.add((RichTextFragment) embeddedEntities.next());
                 }
-                richTextFragments.add((RichTextFragment) embeddedEntities.next());
                 lastFragmentIndex = matcher.end();
             }
 
@@ -172,7 +187,7 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
         return embeddedEntities;
     }
 
-    private void resolveLinks(Document document) {
+    private void resolveLinks(Document document, List<AnchoredLinkFragment> anchoredLinks) {
         final List<Node> linkElements;
         try {
             linkElements = new NodeListAdapter((NodeList) XPATH_LINKS.expr().get().evaluate(document, NODESET));
@@ -198,7 +213,7 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
 
             if (!isEmpty(linkUrl)) {
                 linkElement.setAttribute("href", linkUrl);
-                applyHashIfApplicable(linkElement);
+                applyHashIfApplicable(linkElement, anchoredLinks);
                 removeUnusedAttributes(linkElement);
             } else {
                 moveChildrenToParentAndRemoveNode(linkElement);
@@ -206,23 +221,18 @@ public class DefaultRichTextProcessor implements RichTextProcessor {
         }
     }
 
-    private void applyHashIfApplicable(Element linkElement) {
+    private void applyHashIfApplicable(Element linkElement, List<AnchoredLinkFragment> anchoredLinks) {
         final String target = linkElement.getAttribute("target");
         if ("anchored".equals(target)) {
             final String href = linkElement.getAttribute("href");
-            final String fullRequestPath = webRequestContext.getContextPath()
-                    + webRequestContext.getRequestPath();
 
             final String linkName = getLinkName(linkElement);
             final String hash = !isEmpty(linkName) ? ("#" + linkName.replaceAll(" ", "_").toLowerCase()) : EMPTY;
 
-            if (fullRequestPath.equalsIgnoreCase(href)) {
-                linkElement.setAttribute("href", hash);
-                linkElement.setAttribute("target", "");
-            } else {
-                linkElement.setAttribute("href", href + hash);
-                linkElement.setAttribute("target", "_top");
-            }
+            // Whether the link points to the current page depends on the request, so leave that to the rendering
+            anchoredLinks.add(new AnchoredLinkFragment(href, hash));
+            linkElement.setAttribute("href", ANCHORED_LINK_PLACEHOLDER + (anchoredLinks.size() - 1));
+            linkElement.removeAttribute("target");
         }
     }
 
@@ -1,5 +1,7 @@
 package com.sdl.webapp.tridion;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.sdl.webapp.common.api.content.ContentProviderException;
 import com.sdl.webapp.common.api.localization.Localization;
@@ -31,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +46,15 @@ final class EntityBuilderImpl implements EntityBuilder {
     private static final String DEFAULT_CONTROLLER_NAME = "Entity";
     private static final String DEFAULT_ACTION_NAME = "Entity";
     private static final String DEFAULT_REGION_NAME = "Main";
+    private static final int MAX_COMPONENT_TEMPLATE_PLANS = 5000;
+
+    /**
+     * The parts of an entity that depend only on the component template, keyed by component template ID and revision
+     * date. A republished component template gets a new key, so the plans never have to be invalidated.
+     */
+    private final Cache<String, ComponentTemplatePlan> componentTemplatePlans = CacheBuilder.newBuilder()
+            .maximumSize(MAX_COMPONENT_TEMPLATE_PLANS)
+            .build();
 
     @Autowired
     private ViewModelRegistry viewModelRegistry;
@@ -128,11 +140,11 @@ final class EntityBuilderImpl implements EntityBuilder {
         }
 
         createEntityData(entity, componentPresentation);
-        entity.setMvcData(createMvcData(componentPresentation));
 
-        String htmlClasses = FieldUtils.getStringValue(componentPresentation.getComponentTemplate().getMetadata(), "htmlClasses");
-        if (!StringUtils.isEmpty(htmlClasses)) {
-            entity.setHtmlClasses(htmlClasses.replaceAll("[^\\w\\-\\ ]", ""));
+        final ComponentTemplatePlan componentTemplatePlan = getComponentTemplatePlan(componentPresentation.getComponentTemplate());
+        entity.setMvcData(componentTemplatePlan.getMvcData());
+        if (componentTemplatePlan.getHtmlClasses() != null) {
+            entity.setHtmlClasses(componentTemplatePlan.getHtmlClasses());
         }
 
         return entity;
@@ -284,11 +296,36 @@ final class EntityBuilderImpl implements EntityBuilder {
 
     }
 
-    private MvcData createMvcData(ComponentPresentation componentPresentation) {
+    /**
+     * Gets the MVC data and HTML classes of the entities built with a component template. They are created once per
+     * component template revision and shared by all these entities, so the MVC data is immutable.
+     */
+    private ComponentTemplatePlan getComponentTemplatePlan(ComponentTemplate componentTemplate) {
+        if (componentTemplate.getRevisionDate() == null) {
+            // Without a revision date, a changed component template cannot be told apart from the cached one
+            return createComponentTemplatePlan(componentTemplate);
+        }
+
+        final String key = componentTemplate.getId() + "@" + componentTemplate.getRevisionDate().getMillis();
+        ComponentTemplatePlan componentTemplatePlan = componentTemplatePlans.getIfPresent(key);
+        if (componentTemplatePlan == null) {
+            componentTemplatePlan = createComponentTemplatePlan(componentTemplate);
+            componentTemplatePlans.put(key, componentTemplatePlan);
+        }
+        return componentTemplatePlan;
+    }
+
+    private ComponentTemplatePlan createComponentTemplatePlan(ComponentTemplate componentTemplate) {
+        String htmlClasses = FieldUtils.getStringValue(componentTemplate.getMetadata(), "htmlClasses");
+        htmlClasses = StringUtils.isEmpty(htmlClasses) ? null : htmlClasses.replaceAll("[^\\w\\-\\ ]", "");
+
+        return new ComponentTemplatePlan(createMvcData(componentTemplate), htmlClasses);
+    }
+
+    private MvcData createMvcData(ComponentTemplate componentTemplate) {
 // todo remove duplication
         final MvcDataImpl mvcData = new MvcDataImpl();
 
-        final ComponentTemplate componentTemplate = componentPresentation.getComponentTemplate();
         final Map<String, Field> templateMeta = componentTemplate.getMetadata();
 
         final String[] controllerNameParts = getControllerNameParts(templateMeta);
@@ -314,8 +351,8 @@ final class EntityBuilderImpl implements EntityBuilder {
                 }
             }
         }
-        mvcData.setRouteValues(routeValues);
-        mvcData.setMetadata(this.getMvcMetadata(componentPresentation.getComponentTemplate()));
+        mvcData.setRouteValues(Collections.unmodifiableMap(routeValues));
+        mvcData.setMetadata(Collections.unmodifiableMap(this.getMvcMetadata(componentTemplate)));
 
         return mvcData;
     }
@@ -380,4 +417,22 @@ final class EntityBuilderImpl implements EntityBuilder {
         }
         return metadata;
     }
+
+    private static final class ComponentTemplatePlan {
+        private final MvcData mvcData;
+        private final String htmlClasses;
+
+        private ComponentTemplatePlan(MvcData mvcData, String htmlClasses) {
+            this.mvcData = mvcData;
+            this.htmlClasses = htmlClasses;
+        }
+
+        public MvcData getMvcData() {
+            return mvcData;
+        }
+
+        public String getHtmlClasses() {
+            return htmlClasses;
+        }
+    }
 }
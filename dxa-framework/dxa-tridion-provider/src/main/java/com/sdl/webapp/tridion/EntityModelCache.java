@@ -0,0 +1,158 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.ContentProviderException;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.entity.ExceptionEntity;
+import com.sdl.webapp.common.util.ModelCopyUtils;
+import com.sdl.webapp.common.util.SingleFlight;
+import com.sdl.webapp.tridion.fieldconverters.LazyFieldValueList;
+import org.dd4t.contentmodel.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of entity models built from component presentations, keyed by publication ID, component ID, revision date of
+ * the component and a variant that identifies how the entity was built (the component template and its revision date).
+ * <p/>
+ * Since the revision dates are part of the key, a changed component or component template is never served from the
+ * cache. The time-to-live puts a bound on how long changes to linked components can go unnoticed. Callers always get
+ * a copy of the cached entity model, so that request-time enrichment does not affect the cached entity model; entity
+ * models that cannot be copied are not cached.
+ */
+@org.springframework.stereotype.Component
+public class EntityModelCache {
+    private static final Logger LOG = LoggerFactory.getLogger(EntityModelCache.class);
+
+    @Value("#{environment.getProperty('entityModelCacheEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('entityModelCacheMaxSize', '5000')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('entityModelCacheTimeToLive', '300')}")
+    private int timeToLive;
+
+    @Autowired
+    private WebRequestContext webRequestContext;
+
+    private Cache<String, EntityModel> cache;
+
+    private final SingleFlight<String, EntityModel, ContentProviderException> loads = new SingleFlight<>();
+
+    private static String getKey(Localization localization, Component component, String variant) {
+        if (component == null || component.getId() == null || component.getRevisionDate() == null) {
+            // Without a revision date, a changed component cannot be told apart from the cached one
+            return null;
+        }
+        return localization.getId() + ":" + component.getId() + "@" + component.getRevisionDate().getMillis() + ":" +
+                variant;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Gets a copy of a cached entity model.
+     *
+     * @param localization The localization.
+     * @param component    The component that the entity model is built from.
+     * @param variant      Identifies how the entity model is built from the component.
+     * @return A copy of the cached entity model, or {@code null} if there is no cached entity model.
+     */
+    public EntityModel get(Localization localization, Component component, String variant) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        final String key = getKey(localization, component, variant);
+        final EntityModel entityModel = key != null ? cache.getIfPresent(key) : null;
+        if (entityModel == null) {
+            return null;
+        }
+
+        LOG.trace("Using cached entity model: {}", key);
+        return ModelCopyUtils.copyEntityModel(entityModel);
+    }
+
+    /**
+     * Loads an entity model and stores it in the cache. Concurrent loads of the same entity model are coalesced: only
+     * one thread builds the entity model, the others wait for it and get a copy of the same entity model.
+     *
+     * @param localization The localization.
+     * @param component    The component that the entity model is built from.
+     * @param variant      Identifies how the entity model is built from the component.
+     * @param loader       Builds the entity model.
+     * @return The entity model to be used by the caller; this is a copy if the entity model was cached.
+     * @throws ContentProviderException If the entity model cannot be built.
+     */
+    public EntityModel load(Localization localization, Component component, String variant,
+                            final SingleFlight.Loader<EntityModel, ContentProviderException> loader)
+            throws ContentProviderException {
+        final String key = isEnabled() ? getKey(localization, component, variant) : null;
+        if (key == null) {
+            return loader.load();
+        }
+
+        final boolean[] loadedHere = new boolean[1];
+        final EntityModel entityModel = loads.execute(key, new SingleFlight.Loader<EntityModel, ContentProviderException>() {
+            @Override
+            public EntityModel load() throws ContentProviderException {
+                loadedHere[0] = true;
+                final EntityModel loadedEntityModel = loader.load();
+                if (loadedEntityModel instanceof ExceptionEntity) {
+                    LOG.debug("Entity model could not be built, not caching it: {}", key);
+                } else if (ModelCopyUtils.canCopyEntityModel(loadedEntityModel)) {
+                    if (loadedEntityModel != null) {
+                        // The entity model is shared with other requests, which must not convert its fields
+                        LazyFieldValueList.convertAll(loadedEntityModel);
+                        cache.put(key, loadedEntityModel);
+                    }
+                } else {
+                    LOG.debug("Entity model cannot be copied, not caching it: {}", key);
+                }
+                return loadedEntityModel;
+            }
+        });
+
+        if (ModelCopyUtils.canCopyEntityModel(entityModel)) {
+            return ModelCopyUtils.copyEntityModel(entityModel);
+        }
+        // An entity model that cannot be copied cannot be shared with the threads that waited for it
+        return loadedHere[0] ? entityModel : loader.load();
+    }
+
+    /**
+     * Removes all cached entity models of a publication.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        final String prefix = publicationId + ":";
+        for (Iterator<String> i = cache.asMap().keySet().iterator(); i.hasNext(); ) {
+            if (i.next().startsWith(prefix)) {
+                i.remove();
+            }
+        }
+        LOG.debug("Removed cached entity models of publication: {}", publicationId);
+    }
+
+    private boolean isEnabled() {
+        // Preview sessions may see content that differs from the published content
+        return enabled && !webRequestContext.isPreview();
+    }
+}
@@ -0,0 +1,150 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.RegionModel;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.util.ModelCopyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the regions built from include pages (header, footer, etc.), keyed by localization, page type and include
+ * page URL.
+ * <p/>
+ * The same include pages are used by almost all pages of a localization, so their regions are built once, from the
+ * include page model that the content provider returns, and shared by all page builds. A cached region is discarded
+ * once the {@code PublicationChangeTracker} notices that something was published in its localization after the region
+ * was built, so a republished include page is rebuilt on the next page build; entries also expire after a
+ * time-to-live, and refreshing a localization removes all its entries. Callers always get a copy of the cached region,
+ * because the region becomes part of a page model that may be enriched at request time.
+ */
+@Component
+public class IncludePageRegionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(IncludePageRegionCache.class);
+
+    @Value("#{environment.getProperty('includePageRegionCacheEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('includePageRegionCacheMaxSize', '500')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('includePageRegionCacheTimeToLive', '300')}")
+    private int timeToLive;
+
+    @Autowired
+    private PublicationChangeTracker publicationChangeTracker;
+
+    private Cache<String, CacheEntry> cache;
+
+    private static String getKey(Localization localization, String pageTypeId, String includeUrl) {
+        return localization.getId() + ":" + pageTypeId + ":" + includeUrl;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private boolean isEnabled(Localization localization) {
+        // Preview sessions may see content that differs from the published content
+        return enabled && !localization.isStaging();
+    }
+
+    /**
+     * Gets a copy of the cached region for the given include page.
+     *
+     * @param localization The localization.
+     * @param pageTypeId   The ID of the page template of the page that includes the include page.
+     * @param includeUrl   The URL of the include page.
+     * @return A copy of the cached region, or {@code null} if there is no valid cached region.
+     */
+    public RegionModel get(Localization localization, String pageTypeId, String includeUrl) {
+        if (!isEnabled(localization)) {
+            return null;
+        }
+
+        final String key = getKey(localization, pageTypeId, includeUrl);
+        final CacheEntry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.getCreated() <= publicationChangeTracker.getLastPublished(localization.getId())) {
+            LOG.debug("Content has been published, removing cached include page region: {}", key);
+            cache.invalidate(key);
+            return null;
+        }
+
+        LOG.trace("Using cached include page region: {}", key);
+        return ModelCopyUtils.copyRegionModel(entry.getRegion());
+    }
+
+    /**
+     * Stores the region built from an include page in the cache. Regions that contain entities that could not be
+     * built are not stored.
+     *
+     * @param localization The localization.
+     * @param pageTypeId   The ID of the page template of the page that includes the include page.
+     * @param includeUrl   The URL of the include page.
+     * @param region       The region.
+     * @param buildStarted The time at which building the region started, in milliseconds since the epoch; the region
+     *                     is discarded if something is published in the localization after this time.
+     * @return The region to be used by the caller; this is a copy if the region was cached.
+     */
+    public RegionModel put(Localization localization, String pageTypeId, String includeUrl, RegionModel region,
+                           long buildStarted) {
+        if (!isEnabled(localization) || region == null || !ModelCopyUtils.canCopyRegionModel(region) ||
+                ControllerUtils.containsExceptionEntity(region.getRegions())) {
+            return region;
+        }
+
+        cache.put(getKey(localization, pageTypeId, includeUrl), new CacheEntry(region, buildStarted));
+        return ModelCopyUtils.copyRegionModel(region);
+    }
+
+    /**
+     * Removes all cached include page regions of a publication.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        final String prefix = publicationId + ":";
+        for (Iterator<String> i = cache.asMap().keySet().iterator(); i.hasNext(); ) {
+            if (i.next().startsWith(prefix)) {
+                i.remove();
+            }
+        }
+        LOG.debug("Removed cached include page regions of publication: {}", publicationId);
+    }
+
+    private static final class CacheEntry {
+        private final RegionModel region;
+        private final long created;
+
+        private CacheEntry(RegionModel region, long created) {
+            this.region = region;
+            this.created = created;
+        }
+
+        public RegionModel getRegion() {
+            return region;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+}
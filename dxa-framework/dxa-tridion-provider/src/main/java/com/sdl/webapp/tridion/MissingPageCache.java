@@ -0,0 +1,104 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.content.PublicationChangeTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Negative lookup cache: remembers, per publication, the page paths that were recently found not to exist.
+ * <p/>
+ * This avoids repeated broker lookups for URLs that do not exist, for example when bots or scanners probe random
+ * URLs. There is a separate bounded cache for each publication, so that probing one site cannot push out the entries
+ * of another site. Since a page may be published at a path that was missing before, the entries of a publication are
+ * ignored once the {@code PublicationChangeTracker} notices that something was published in it, and entries expire
+ * after a (short) time-to-live in any case; refreshing a localization removes all entries of its publication.
+ */
+@Component
+public class MissingPageCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MissingPageCache.class);
+
+    private final ConcurrentMap<Integer, Cache<String, Long>> missingPages = new ConcurrentHashMap<>();
+
+    @Value("#{environment.getProperty('missingPageCacheEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('missingPageCacheMaxSize', '10000')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('missingPageCacheTimeToLive', '60')}")
+    private int timeToLive;
+
+    @Autowired
+    private PublicationChangeTracker publicationChangeTracker;
+
+    /**
+     * Checks if a page is known to be missing.
+     *
+     * @param publicationId The publication ID.
+     * @param path          The normalized path of the page.
+     * @return {@code true} if the page was recently found not to exist, {@code false} otherwise.
+     */
+    public boolean isMissing(int publicationId, String path) {
+        if (!enabled) {
+            return false;
+        }
+
+        final Cache<String, Long> cache = missingPages.get(publicationId);
+        final Long markedMissing = cache != null ? cache.getIfPresent(path) : null;
+        if (markedMissing == null) {
+            return false;
+        }
+
+        if (markedMissing <= publicationChangeTracker.getLastPublished(String.valueOf(publicationId))) {
+            LOG.debug("Content has been published, forgetting missing page: [{}] {}", publicationId, path);
+            cache.invalidate(path);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers that a page does not exist.
+     *
+     * @param publicationId The publication ID.
+     * @param path          The normalized path of the page.
+     */
+    public void markMissing(int publicationId, String path) {
+        if (!enabled) {
+            return;
+        }
+
+        Cache<String, Long> cache = missingPages.get(publicationId);
+        if (cache == null) {
+            final Cache<String, Long> newCache = CacheBuilder.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                    .build();
+            cache = missingPages.putIfAbsent(publicationId, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        cache.put(path, System.currentTimeMillis());
+    }
+
+    /**
+     * Forgets all missing pages of a publication.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        if (missingPages.remove(Integer.valueOf(publicationId)) != null) {
+            LOG.debug("Removed cached missing pages of publication: {}", publicationId);
+        }
+    }
+}
@@ -6,13 +6,19 @@ import com.sdl.webapp.common.api.localization.Localization;
 import com.sdl.webapp.common.api.model.EntityModel;
 import com.sdl.webapp.common.api.model.PageModel;
 import com.sdl.webapp.common.api.model.entity.AbstractEntityModel;
+import com.sdl.webapp.common.util.SingleFlight;
 import org.dd4t.contentmodel.Component;
 import org.dd4t.contentmodel.ComponentPresentation;
+import org.dd4t.contentmodel.ComponentTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 public class ModelBuilderPipeline {
 
+    @Autowired
+    private EntityModelCache entityModelCache;
+
     private List<PageBuilder> pageBuilderHandlers;
 
     private List<EntityBuilder> entityBuilderHandlers;
@@ -33,12 +39,33 @@ public class ModelBuilderPipeline {
         return pageModel;
     }
 
-    public EntityModel createEntityModel(ComponentPresentation cp, Localization localization) throws ContentProviderException {
-        EntityModel entityModel = null;
-        for (EntityBuilder entityBuilder : entityBuilderHandlers) {
-            entityModel = entityBuilder.createEntity(cp, entityModel, localization);
+    /**
+     * Creates the entity model for a component presentation. Only these entity models are cached: components that are
+     * reached through component links only contain their fields up to the link level of the template, so the entity
+     * model built from them depends on where they are linked from.
+     */
+    public EntityModel createEntityModel(final ComponentPresentation cp, final Localization localization) throws ContentProviderException {
+        final ComponentTemplate componentTemplate = cp.getComponentTemplate();
+        final String variant = componentTemplate != null && componentTemplate.getRevisionDate() != null ?
+                componentTemplate.getId() + "@" + componentTemplate.getRevisionDate().getMillis() : null;
+        if (variant != null) {
+            final EntityModel cachedEntityModel = entityModelCache.get(localization, cp.getComponent(), variant);
+            if (cachedEntityModel != null) {
+                return cachedEntityModel;
+            }
         }
-        return entityModel;
+
+        final SingleFlight.Loader<EntityModel, ContentProviderException> loader = new SingleFlight.Loader<EntityModel, ContentProviderException>() {
+            @Override
+            public EntityModel load() throws ContentProviderException {
+                EntityModel entityModel = null;
+                for (EntityBuilder entityBuilder : entityBuilderHandlers) {
+                    entityModel = entityBuilder.createEntity(cp, entityModel, localization);
+                }
+                return entityModel;
+            }
+        };
+        return variant != null ? entityModelCache.load(localization, cp.getComponent(), variant, loader) : loader.load();
     }
 
     public EntityModel createEntityModel(Component component, Localization localization) throws ContentProviderException {
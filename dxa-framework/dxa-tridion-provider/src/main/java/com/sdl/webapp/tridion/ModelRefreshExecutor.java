@@ -0,0 +1,91 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds stale cached models in the background, so that requests can keep being served from the stale model in the
+ * meantime.
+ * <p/>
+ * A refresh usually outlives the request that triggered it, so it runs without a request: refresh tasks must not use
+ * request attributes or request-scoped beans such as the {@code WebRequestContext}, which belong to the request that
+ * started the refresh. This is why only loads that do not need the request, such as fetching the navigation model
+ * content, are refreshed in the background; a task that does use the request fails and is logged.
+ * <p/>
+ * The pool is bounded; when it is saturated, refreshes are skipped and the model is rebuilt by a later request.
+ */
+@Component
+public class ModelRefreshExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(ModelRefreshExecutor.class);
+
+    private final Set<String> refreshing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    @Value("#{environment.getProperty('staleRefreshThreads', '4')}")
+    private int threads;
+
+    @Value("#{environment.getProperty('staleRefreshQueueSize', '100')}")
+    private int queueSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat("dxa-model-refresh-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts a refresh in the background, unless a refresh for the same key is already in progress.
+     *
+     * @param key  Identifies the model that is refreshed.
+     * @param task The task that refreshes the model.
+     * @return {@code true} if the refresh was started, {@code false} otherwise.
+     */
+    public boolean refresh(final String key, final Runnable task) {
+        if (!refreshing.add(key)) {
+            return false;
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        LOG.debug("Refreshing stale model: {}", key);
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LOG.warn("Error while refreshing stale model: {}", key, e);
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Refresh pool is saturated, not refreshing stale model: {}", key);
+            refreshing.remove(key);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sdl.webapp.tridion;
+
+import com.sdl.webapp.common.api.content.ContentProviderException;
+import com.sdl.webapp.common.util.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the navigation model content (the JSON of the navigation page), per publication.
+ * <p/>
+ * The navigation model is needed by almost every page, but it only changes when the navigation page is republished.
+ * After the time-to-live, the cached content is served stale for a while (the stale window) while it is fetched again
+ * in the background. Optionally, the cached content can be served stale for a longer time if it cannot be fetched,
+ * for example because the broker database is unavailable. Refreshing a localization removes its cached content.
+ */
+@Component
+public class NavigationModelCache {
+    private static final Logger LOG = LoggerFactory.getLogger(NavigationModelCache.class);
+
+    @Value("#{environment.getProperty('navigationModelCacheEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('navigationModelCacheTimeToLive', '60')}")
+    private int timeToLive;
+
+    @Value("#{environment.getProperty('navigationModelCacheStaleWindow', '60')}")
+    private int staleWindow;
+
+    @Value("#{environment.getProperty('navigationModelCacheStaleIfErrorWindow', '0')}")
+    private int staleIfErrorWindow;
+
+    @Autowired
+    private ModelRefreshExecutor modelRefreshExecutor;
+
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final SingleFlight<String, String, ContentProviderException> loads = new SingleFlight<>();
+
+    /**
+     * Gets the navigation model content of a publication, from the cache if possible. Requests that need the
+     * navigation model content at the same time share a single fetch.
+     *
+     * @param publicationId The publication ID.
+     * @param loader        Fetches the navigation model content.
+     * @return The navigation model content.
+     * @throws ContentProviderException If the navigation model content cannot be fetched.
+     */
+    public String get(final String publicationId, final SingleFlight.Loader<String, ContentProviderException> loader)
+            throws ContentProviderException {
+        if (!enabled) {
+            return loads.execute(publicationId, loader);
+        }
+
+        final CacheEntry entry = cache.get(publicationId);
+        if (entry != null) {
+            if (entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive)) {
+                return entry.getContent();
+            }
+            if (entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive + staleWindow)) {
+                LOG.trace("Using stale navigation model while it is refreshed: {}", publicationId);
+                modelRefreshExecutor.refresh("navigation:" + publicationId, new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            load(publicationId, loader);
+                        } catch (ContentProviderException e) {
+                            LOG.warn("Error while refreshing navigation model: {}", publicationId, e);
+                        }
+                    }
+                });
+                return entry.getContent();
+            }
+        }
+
+        try {
+            return load(publicationId, loader);
+        } catch (ContentProviderException | RuntimeException e) {
+            if (entry != null && entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive + staleIfErrorWindow)) {
+                LOG.warn("Error while fetching navigation model, using stale navigation model: {}", publicationId, e);
+                return entry.getContent();
+            }
+            throw e;
+        }
+    }
+
+    private String load(final String publicationId, final SingleFlight.Loader<String, ContentProviderException> loader)
+            throws ContentProviderException {
+        return loads.execute(publicationId, new SingleFlight.Loader<String, ContentProviderException>() {
+            @Override
+            public String load() throws ContentProviderException {
+                final String content = loader.load();
+                if (content != null) {
+                    cache.put(publicationId, new CacheEntry(content));
+                }
+                return content;
+            }
+        });
+    }
+
+    /**
+     * Removes the cached navigation model content of a publication.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        cache.remove(publicationId);
+        LOG.debug("Removed cached navigation model of publication: {}", publicationId);
+    }
+
+    private static final class CacheEntry {
+        private final String content;
+        private final long created = System.currentTimeMillis();
+
+        private CacheEntry(String content) {
+            this.content = content;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public long getAge() {
+            return System.currentTimeMillis() - created;
+        }
+    }
+}
@@ -2,14 +2,18 @@ package com.sdl.webapp.tridion;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.sdl.webapp.common.api.RequestTaskExecutor;
 import com.sdl.webapp.common.api.WebRequestContext;
 import com.sdl.webapp.common.api.content.ConditionalEntityEvaluator;
 import com.sdl.webapp.common.api.content.ContentProvider;
 import com.sdl.webapp.common.api.content.ContentProviderException;
 import com.sdl.webapp.common.api.content.RegionBuilder;
-import com.sdl.webapp.common.api.content.RegionBuilderCallback;
+import com.sdl.webapp.common.api.content.PrefetchingRegionBuilderCallback;
 import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.mapping.ModelAccessorFactory;
 import com.sdl.webapp.common.api.mapping.SemanticMapper;
 import com.sdl.webapp.common.api.mapping.SemanticMappingException;
 import com.sdl.webapp.common.api.mapping.config.SemanticSchema;
@@ -25,6 +29,7 @@ import com.sdl.webapp.common.api.model.page.PageModelImpl;
 import com.sdl.webapp.common.api.model.region.RegionModelImpl;
 import com.sdl.webapp.common.api.model.region.RegionModelSetImpl;
 import com.sdl.webapp.common.exceptions.DxaException;
+import com.sdl.webapp.common.util.ModelCopyUtils;
 import com.sdl.webapp.tridion.fieldconverters.FieldConverterRegistry;
 import com.sdl.webapp.tridion.fieldconverters.FieldUtils;
 import org.dd4t.contentmodel.ComponentPresentation;
@@ -49,10 +54,14 @@ import org.springframework.util.StringUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,6 +84,15 @@ final class PageBuilderImpl implements PageBuilder {
     private static final String REGION_ACTION_NAME = "Region";
     private static final String DEFAULT_REGION_NAME = "Main";
     private static final Pattern REGION_VIEW_NAME_PATTERN = Pattern.compile(".*\\[(.*)\\]");
+    private static final int MAX_PAGE_TEMPLATE_PLANS = 1000;
+
+    /**
+     * Assembly plans of the page templates, keyed by page template ID and revision date. A republished page template
+     * gets a new key, so the plans never have to be invalidated; old plans are simply pushed out.
+     */
+    private final Cache<String, PageTemplatePlan> pageTemplatePlans = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PAGE_TEMPLATE_PLANS)
+            .build();
 
     @Autowired
     private ModelBuilderPipeline modelBuilderPipeline;
@@ -103,6 +121,15 @@ final class PageBuilderImpl implements PageBuilder {
     @Autowired
     private ComponentPresentationFactory dd4tComponentPresentationFactory;
 
+    @Autowired
+    private IncludePageRegionCache includePageRegionCache;
+
+    @Autowired
+    private RequestTaskExecutor requestTaskExecutor;
+
+    @Autowired
+    private ModelAccessorFactory modelAccessorFactory;
+
     private RegionModel getRegionFromIncludePage(PageModel page, String includeFileName) {
         try {
             String regionName = page.getName().replace(" ", "-");
@@ -132,6 +159,46 @@ final class PageBuilderImpl implements PageBuilder {
         }
     }
 
+    /**
+     * Gets the region for an include page, including the regions of the include page itself. The region is taken
+     * from the include page region cache if nothing has been published in the localization since it was built.
+     */
+    private RegionModel getIncludePageRegion(String includeUrl, String includeFileName, String pageTypeId,
+                                             Localization localization, ContentProvider contentProvider)
+            throws ContentProviderException {
+        final RegionModel cachedRegion = includePageRegionCache.get(localization, pageTypeId, includeUrl);
+        if (cachedRegion != null) {
+            return cachedRegion;
+        }
+
+        final long buildStarted = System.currentTimeMillis();
+        final PageModel includePageModel = contentProvider.getPageModel(includeUrl, localization);
+        final RegionModel includePageRegion = getRegionFromIncludePage(includePageModel, includeFileName);
+        includePageRegion.getRegions().addAll(includePageModel.getRegions());
+        return includePageRegionCache.put(localization, pageTypeId, includeUrl, includePageRegion, buildStarted);
+    }
+
+    private static <T> T getResult(Future<T> future) throws ContentProviderException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentProviderException("Interrupted while building page", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ContentProviderException) {
+                throw (ContentProviderException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ContentProviderException(cause);
+        }
+    }
+
     private MvcDataImpl InitializeRegionMvcData(MvcDataImpl regionMvcData) {
         if (Strings.isNullOrEmpty(regionMvcData.getControllerName())) {
             regionMvcData.setControllerName(REGION_CONTROLLER_NAME);
@@ -145,12 +212,14 @@ final class PageBuilderImpl implements PageBuilder {
     }
 
     @Override
-    public PageModel createPage(org.dd4t.contentmodel.Page genericPage, PageModel originalPageModel, Localization localization, ContentProvider contentProvider)
+    public PageModel createPage(org.dd4t.contentmodel.Page genericPage, PageModel originalPageModel, final Localization localization, final ContentProvider contentProvider)
             throws ContentProviderException {
 
+        final PageTemplatePlan pageTemplatePlan = getPageTemplatePlan(genericPage.getPageTemplate());
+
         final PageModel page;
         try {
-            page = createPageModel(genericPage, localization);
+            page = createPageModel(genericPage, pageTemplatePlan, localization);
         } catch (DxaException e) {
             throw new ContentProviderException(e);
         }
@@ -161,7 +230,21 @@ final class PageBuilderImpl implements PageBuilder {
             localizationPath = localizationPath + "/";
         }
 
-        final RegionModelSet regionMap = this.createPredefinedRegions(genericPage.getPageTemplate());
+        // Start getting the includes first; in concurrent mode they are fetched while the regions are being built
+        final String pageTypeId = genericPage.getPageTemplate().getId().split("-")[1];
+        final List<String> includes = localization.getIncludes(pageTypeId);
+        final List<Future<RegionModel>> includePageRegions = new ArrayList<>(includes.size());
+        for (final String include : includes) {
+            final String includeUrl = localizationPath + include;
+            includePageRegions.add(requestTaskExecutor.submit(new Callable<RegionModel>() {
+                @Override
+                public RegionModel call() throws ContentProviderException {
+                    return getIncludePageRegion(includeUrl, include, pageTypeId, localization, contentProvider);
+                }
+            }));
+        }
+
+        final RegionModelSet regionMap = this.createPredefinedRegions(pageTemplatePlan);
 
         final RegionModelSet cpRegions = this.regionBuilder.buildRegions(page, this.conditionalEntityEvaluator, genericPage.getComponentPresentations(), new DD4TRegionBuilderCallback(), localization, this.viewModelRegistry);
         if (cpRegions != null) {
@@ -178,29 +261,26 @@ final class PageBuilderImpl implements PageBuilder {
                 }
             }
         }
-        // Get and add includes
-        final String pageTypeId = genericPage.getPageTemplate().getId().split("-")[1];
-        for (String include : localization.getIncludes(pageTypeId)) {
-            final String includeUrl = localizationPath + include;
-            PageModel includePageModel = contentProvider.getPageModel(includeUrl, localization);
-            final RegionModel includePageRegion = getRegionFromIncludePage(includePageModel, include);
+        // Add includes, in the configured order
+        for (int i = 0; i < includes.size(); i++) {
+            final String include = includes.get(i);
+            final RegionModel includePageRegion = getResult(includePageRegions.get(i));
 
             RegionModel existingRegion;
             if (regionMap.containsKey(includePageRegion.getName())) {
                 // Region with same name already exists; merge include Page Region.
                 existingRegion = regionMap.get(includePageRegion.getName());
 
-                existingRegion.getRegions().addAll(includePageModel.getRegions());
+                existingRegion.getRegions().addAll(includePageRegion.getRegions());
 
                 if (existingRegion.getXpmMetadata() != null) {
                     existingRegion.getXpmMetadata().remove(RegionModelImpl.IncludedFromPageIdXpmMetadataKey);
                     existingRegion.getXpmMetadata().remove(RegionModelImpl.IncludedFromPageTitleXpmMetadataKey);
                     existingRegion.getXpmMetadata().remove(RegionModelImpl.IncludedFromPageFileNameXpmMetadataKey);
                 }
-                LOG.info("Merged Include Page [%s] into Region [%s]. Note that merged Regions can't be edited properly in XPM (yet).",
-                        includePageModel, existingRegion);
+                LOG.info("Merged Include Page [{}] into Region [{}]. Note that merged Regions can't be edited properly in XPM (yet).",
+                        include, existingRegion);
             } else {
-                includePageRegion.getRegions().addAll(includePageModel.getRegions());
                 regionMap.add(includePageRegion);
             }
         }
@@ -210,9 +290,9 @@ final class PageBuilderImpl implements PageBuilder {
         return page;
     }
 
-    private PageModel createPageModel(org.dd4t.contentmodel.Page genericPage, Localization localization) throws DxaException, ContentProviderException {
-        MvcData pageMvcData = createPageMvcData(genericPage.getPageTemplate());
-        Class pageModelType = viewModelRegistry.getViewModelType(pageMvcData);
+    private PageModel createPageModel(org.dd4t.contentmodel.Page genericPage, PageTemplatePlan pageTemplatePlan, Localization localization) throws DxaException, ContentProviderException {
+        MvcData pageMvcData = pageTemplatePlan.getPageMvcData();
+        Class pageModelType = pageTemplatePlan.getPageModelType();
 
         Schema pageMetadataSchema = genericPage.getSchema();
 
@@ -223,11 +303,11 @@ final class PageBuilderImpl implements PageBuilder {
         } else if (pageMetadataSchema == null) {
             // Custom Page Model but no Page metadata that can be mapped; simply create a Page Model instance of the right type.
             try {
-                pageModel = (PageModel) pageModelType.newInstance();
-            } catch (InstantiationException e) {
-                throw new DxaException(String.format("Error instantiating new page of type %s", pageModelType), e);
+                pageModel = (PageModel) modelAccessorFactory.getInstantiator(pageModelType).newInstance();
             } catch (IllegalAccessException e) {
                 throw new DxaException(String.format("Illegal access exception when instantiationg new page of type %s", pageModelType), e);
+            } catch (ReflectiveOperationException e) {
+                throw new DxaException(String.format("Error instantiating new page of type %s", pageModelType), e);
             }
         } else {
             // Custom Page Model and Page metadata is present; do full-blown model mapping.
@@ -262,11 +342,9 @@ final class PageBuilderImpl implements PageBuilder {
         pageModel.setMvcData(pageMvcData);
 
         pageModel.setXpmMetadata(createXpmMetaData(genericPage, localization));
-        pageModel.setMvcData(createPageMvcData(genericPage.getPageTemplate()));
 
-        String htmlClasses = FieldUtils.getStringValue(genericPage.getPageTemplate().getMetadata(), "htmlClasses");
-        if (!Strings.isNullOrEmpty(htmlClasses)) {
-            pageModel.setHtmlClasses(htmlClasses.replaceAll("[^\\w\\-\\ ]", ""));
+        if (pageTemplatePlan.getHtmlClasses() != null) {
+            pageModel.setHtmlClasses(pageTemplatePlan.getHtmlClasses());
         }
 
         return pageModel;
@@ -285,11 +363,63 @@ final class PageBuilderImpl implements PageBuilder {
         return entity;
     }
 
-    private RegionModelSet createPredefinedRegions(PageTemplate pageTemplate) {
+    /**
+     * Gets the assembly plan of a page template: everything needed to build a page that depends only on the page
+     * template. The plan is built once per page template revision.
+     */
+    private PageTemplatePlan getPageTemplatePlan(PageTemplate pageTemplate) throws ContentProviderException {
+        if (pageTemplate.getRevisionDate() == null) {
+            // Without a revision date, a changed page template cannot be told apart from the cached one
+            return createPageTemplatePlan(pageTemplate);
+        }
+
+        final String key = pageTemplate.getId() + "@" + pageTemplate.getRevisionDate().getMillis();
+        PageTemplatePlan pageTemplatePlan = pageTemplatePlans.getIfPresent(key);
+        if (pageTemplatePlan == null) {
+            LOG.debug("Creating assembly plan for Page Template '{}'.", key);
+            pageTemplatePlan = createPageTemplatePlan(pageTemplate);
+            pageTemplatePlans.put(key, pageTemplatePlan);
+        }
+        return pageTemplatePlan;
+    }
+
+    private PageTemplatePlan createPageTemplatePlan(PageTemplate pageTemplate) throws ContentProviderException {
+        final MvcData pageMvcData = createPageMvcData(pageTemplate);
+        final Class pageModelType;
+        try {
+            pageModelType = viewModelRegistry.getViewModelType(pageMvcData);
+        } catch (DxaException e) {
+            throw new ContentProviderException(e);
+        }
 
-        final Map<String, Field> pageTemplateMeta = pageTemplate.getMetadata();
+        String htmlClasses = FieldUtils.getStringValue(pageTemplate.getMetadata(), "htmlClasses");
+        htmlClasses = Strings.isNullOrEmpty(htmlClasses) ? null : htmlClasses.replaceAll("[^\\w\\-\\ ]", "");
 
+        return new PageTemplatePlan(pageMvcData, pageModelType, createRegionPrototypes(pageTemplate), htmlClasses);
+    }
+
+    private RegionModelSet createPredefinedRegions(PageTemplatePlan pageTemplatePlan) {
         RegionModelSet regions = new RegionModelSetImpl();
+        for (RegionModel prototype : pageTemplatePlan.getRegionPrototypes()) {
+            if (ModelCopyUtils.canCopyRegionModel(prototype)) {
+                regions.add(ModelCopyUtils.copyRegionModel(prototype));
+            } else {
+                // Create region types that cannot be copied from scratch
+                try {
+                    regions.add(CreateRegionModel(prototype.getMvcData()));
+                } catch (IllegalAccessException | InstantiationException | DxaException | InvocationTargetException | NoSuchMethodException e) {
+                    LOG.error("Error creating region for view '{}'.", prototype.getMvcData().getViewName(), e);
+                }
+            }
+        }
+        return regions;
+    }
+
+    private List<RegionModel> createRegionPrototypes(PageTemplate pageTemplate) {
+
+        final Map<String, Field> pageTemplateMeta = pageTemplate.getMetadata();
+
+        List<RegionModel> regions = new ArrayList<>();
 
         if (pageTemplateMeta == null || !pageTemplateMeta.containsKey(REGIONS_METADATA_FIELD_NAME))// TODO: "region" instead of "regions"
         {
@@ -584,7 +714,78 @@ final class PageBuilderImpl implements PageBuilder {
         return metadata;
     }
 
-    protected class DD4TRegionBuilderCallback implements RegionBuilderCallback {
+    /**
+     * The parts of a page that depend only on the page template. The region prototypes are never handed out; pages get
+     * copies of them.
+     */
+    private static final class PageTemplatePlan {
+        private final MvcData pageMvcData;
+        private final Class pageModelType;
+        private final List<RegionModel> regionPrototypes;
+        private final String htmlClasses;
+
+        private PageTemplatePlan(MvcData pageMvcData, Class pageModelType, List<RegionModel> regionPrototypes,
+                                 String htmlClasses) {
+            this.pageMvcData = pageMvcData;
+            this.pageModelType = pageModelType;
+            this.regionPrototypes = Collections.unmodifiableList(regionPrototypes);
+            this.htmlClasses = htmlClasses;
+        }
+
+        public MvcData getPageMvcData() {
+            return pageMvcData;
+        }
+
+        public Class getPageModelType() {
+            return pageModelType;
+        }
+
+        public List<RegionModel> getRegionPrototypes() {
+            return regionPrototypes;
+        }
+
+        public String getHtmlClasses() {
+            return htmlClasses;
+        }
+    }
+
+    protected class DD4TRegionBuilderCallback implements PrefetchingRegionBuilderCallback {
+
+        /**
+         * The dynamic component presentations of the page, fetched by {@link #prefetch(List, Localization)} and keyed
+         * by component ID and component template ID.
+         */
+        private final Map<String, Future<ComponentPresentation>> dynamicComponentPresentations = new HashMap<>();
+
+        private String getKey(ComponentPresentation componentPresentation) {
+            return componentPresentation.getComponent().getId() + "|" + componentPresentation.getComponentTemplate().getId();
+        }
+
+        @Override
+        public void prefetch(List<?> sourceList, Localization localization) throws ContentProviderException {
+            // Fetch each dynamic component presentation only once, even if it is on the page more than once; in
+            // concurrent mode (the default), they are all fetched at the same time instead of one after the other.
+            // The broker cannot fetch several dynamic component presentations in one round trip, so without
+            // concurrent mode a page still makes one broker call per dynamic component presentation.
+            for (Object source : sourceList) {
+                final ComponentPresentation componentPresentation = (ComponentPresentation) source;
+                if (!componentPresentation.isDynamic()) {
+                    continue;
+                }
+
+                final String key = getKey(componentPresentation);
+                if (!dynamicComponentPresentations.containsKey(key)) {
+                    dynamicComponentPresentations.put(key, requestTaskExecutor.submit(new Callable<ComponentPresentation>() {
+                        @Override
+                        public ComponentPresentation call() throws Exception {
+                            return fetchDynamicComponentPresentation(componentPresentation);
+                        }
+                    }));
+                }
+            }
+            LOG.debug("Prefetching {} dynamic component presentations", dynamicComponentPresentations.size());
+        }
+
         @Override
         public EntityModel buildEntity(Object source, Localization localization) throws ContentProviderException {
 
@@ -592,8 +793,10 @@ final class PageBuilderImpl implements PageBuilder {
             if (componentPresentation.isDynamic()) {
                 try {
 
-                    // Fetch the dynamic component presentation and replace the dummy static one
-                    componentPresentation = dd4tComponentPresentationFactory.getComponentPresentation(componentPresentation.getComponent().getId(), componentPresentation.getComponentTemplate().getId());
+                    // Replace the dummy static component presentation by the dynamic one
+                    final Future<ComponentPresentation> prefetched = dynamicComponentPresentations.get(getKey(componentPresentation));
+                    componentPresentation = prefetched != null ? getResult(prefetched) :
+                            fetchDynamicComponentPresentation(componentPresentation);
                 } catch (Exception e) {
                     throw new ContentProviderException("Could not fetch dynamic component presentation.", e);
                 }
@@ -601,6 +804,12 @@ final class PageBuilderImpl implements PageBuilder {
             return modelBuilderPipeline.createEntityModel(componentPresentation, localization);
         }
 
+        private ComponentPresentation fetchDynamicComponentPresentation(ComponentPresentation componentPresentation)
+                throws Exception {
+            return dd4tComponentPresentationFactory.getComponentPresentation(componentPresentation.getComponent().getId(),
+                    componentPresentation.getComponentTemplate().getId());
+        }
+
         @Override
         public String getRegionName(Object source) throws ContentProviderException {
             return PageBuilderImpl.this.getRegionName((ComponentPresentation) source);
@@ -0,0 +1,294 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sdl.webapp.common.api.WebRequestContext;
+import com.sdl.webapp.common.api.content.ContentProviderException;
+import com.sdl.webapp.common.api.model.PageModel;
+import com.sdl.webapp.common.controller.ControllerUtils;
+import com.sdl.webapp.common.util.ModelCopyUtils;
+import com.sdl.webapp.common.util.SingleFlight;
+import com.sdl.webapp.tridion.fieldconverters.LazyFieldValueList;
+import org.dd4t.contentmodel.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of fully built page models, keyed by publication ID and page URL.
+ * <p/>
+ * An entry is only used as long as DD4T returns the same page object it was built from. DD4T keeps published pages
+ * in its own cache and replaces them when they are (re)published, so a republished page is always rebuilt. The
+ * time-to-live puts a bound on how long changes to include pages and dynamic component presentations, which are not
+ * part of the page itself, can go unnoticed.
+ * <p/>
+ * Page models do not support stale-while-revalidate: after the time-to-live, the first request for the page always
+ * rebuilds the page model synchronously, since building a page model needs the request (request-scoped beans such as
+ * the {@code WebRequestContext}, and the model builders and field converters that use them) and so cannot be done by
+ * the {@code ModelRefreshExecutor}. Only the navigation model is refreshed in the background (see
+ * {@link NavigationModelCache}). What this cache does offer is that, while one request rebuilds the page model, other
+ * requests for the page are served the stale page model for a while (the stale window) instead of waiting for the
+ * rebuild. Optionally, a page model can be served stale for a longer time if it cannot be rebuilt, for example because
+ * the broker database is unavailable.
+ * <p/>
+ * Cached models are never handed out directly: callers always get a copy, so that request-time enrichment of the
+ * model does not affect the cached model. Page models that cannot be copied are not cached, and neither are page
+ * models with entities that could not be built ({@code ExceptionEntity}), since the error may be transient.
+ */
+@Component
+public class PageModelCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PageModelCache.class);
+
+    private static final String OG_URL_META_NAME = "og:url";
+
+    private static final String OG_IMAGE_META_NAME = "og:image";
+
+    @Value("#{environment.getProperty('pageModelCacheEnabled', 'true')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('pageModelCacheMaxSize', '1000')}")
+    private int maxSize;
+
+    @Value("#{environment.getProperty('pageModelCacheTimeToLive', '300')}")
+    private int timeToLive;
+
+    @Value("#{environment.getProperty('pageModelCacheStaleWindow', '60')}")
+    private int staleWindow;
+
+    @Value("#{environment.getProperty('pageModelCacheStaleIfErrorWindow', '0')}")
+    private int staleIfErrorWindow;
+
+    @Autowired
+    private WebRequestContext webRequestContext;
+
+    private Cache<String, CacheEntry> cache;
+
+    private final SingleFlight<String, CacheEntry, ContentProviderException> loads = new SingleFlight<>();
+
+    private static String getKey(int publicationId, String path) {
+        return publicationId + ":" + path;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive + Math.max(staleWindow, staleIfErrorWindow), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Gets the page model for the given page, from the cache if possible.
+     * <p/>
+     * A cached page model that is older than the time-to-live is rebuilt by the calling thread, unless it is already
+     * being rebuilt for another request; in that case it is returned as is while it is still within the stale window.
+     * If building the page model fails, a cached page model that is still within the stale-if-error window is returned
+     * instead.
+     *
+     * @param publicationId The publication ID.
+     * @param path          The normalized path of the page.
+     * @param genericPage   The DD4T page that the model is built from.
+     * @param loader        Builds the page model.
+     * @return The page model to be used by the caller; this is a copy if the page model was cached.
+     * @throws ContentProviderException If the page model cannot be built.
+     */
+    public PageModel get(int publicationId, String path, final Page genericPage,
+                         final SingleFlight.Loader<PageModel, ContentProviderException> loader)
+            throws ContentProviderException {
+        if (!isEnabled()) {
+            return loader.load();
+        }
+
+        final String key = getKey(publicationId, path);
+        final CacheEntry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.getGenericPage() != genericPage) {
+                LOG.debug("Page has been republished, removing cached page model: {}", key);
+                cache.invalidate(key);
+            } else if (entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive)) {
+                LOG.trace("Using cached page model: {}", key);
+                return copy(entry);
+            } else if (entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive + staleWindow) && loads.isLoading(key)) {
+                LOG.trace("Using stale page model while it is rebuilt for another request: {}", key);
+                return copy(entry);
+            }
+        }
+
+        try {
+            return loadCopy(key, genericPage, loader);
+        } catch (ContentProviderException | RuntimeException e) {
+            if (isUsableOnError(entry)) {
+                LOG.warn("Error while building page model, using stale page model: {}", key, e);
+                return copy(entry);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a copy of the cached page model for the given page if the page itself cannot be fetched and the cached page
+     * model is still within the stale-if-error window.
+     *
+     * @param publicationId The publication ID.
+     * @param path          The normalized path of the page.
+     * @return A copy of the cached page model, or {@code null} if there is no usable cached page model.
+     */
+    public PageModel getOnError(int publicationId, String path) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        final CacheEntry entry = cache.getIfPresent(getKey(publicationId, path));
+        return isUsableOnError(entry) ? copy(entry) : null;
+    }
+
+    private boolean isUsableOnError(CacheEntry entry) {
+        return entry != null && entry.getAge() < TimeUnit.SECONDS.toMillis(timeToLive + staleIfErrorWindow);
+    }
+
+    /**
+     * Builds a page model, stores it in the cache and returns a copy of it. A page model that cannot be copied is not
+     * cached; it is returned as is to the thread that built it, while threads that waited for it build their own.
+     */
+    private PageModel loadCopy(String key, Page genericPage,
+                               final SingleFlight.Loader<PageModel, ContentProviderException> loader)
+            throws ContentProviderException {
+        final boolean[] loadedHere = new boolean[1];
+        final CacheEntry entry = load(key, genericPage, new SingleFlight.Loader<PageModel, ContentProviderException>() {
+            @Override
+            public PageModel load() throws ContentProviderException {
+                loadedHere[0] = true;
+                return loader.load();
+            }
+        });
+
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isCacheable()) {
+            return copy(entry);
+        }
+        return loadedHere[0] ? entry.getPageModel() : loader.load();
+    }
+
+    /**
+     * Builds a page model and stores it in the cache. Concurrent loads of the same page are coalesced: only one thread
+     * builds the page model, the others wait for it and get the same cache entry.
+     */
+    private CacheEntry load(final String key, final Page genericPage,
+                            final SingleFlight.Loader<PageModel, ContentProviderException> loader)
+            throws ContentProviderException {
+        return loads.execute(key, new SingleFlight.Loader<CacheEntry, ContentProviderException>() {
+            @Override
+            public CacheEntry load() throws ContentProviderException {
+                final PageModel loadedPageModel = loader.load();
+                if (loadedPageModel == null) {
+                    return null;
+                }
+
+                final CacheEntry entry = new CacheEntry(genericPage, loadedPageModel, getUrlPrefix(),
+                        ModelCopyUtils.canCopyPageModel(loadedPageModel));
+                if (!entry.isCacheable()) {
+                    LOG.debug("Page model cannot be copied, not caching it: {}", key);
+                    return entry;
+                }
+
+                // The page model is shared with other requests, which must not convert its fields
+                LazyFieldValueList.convertAll(loadedPageModel);
+                if (ControllerUtils.containsExceptionEntity(loadedPageModel.getRegions())) {
+                    // An entity that could not be built may well be built by the next request
+                    LOG.debug("Page model contains an entity that could not be built, not caching it: {}", key);
+                } else {
+                    cache.put(key, entry);
+                }
+                return entry;
+            }
+        });
+    }
+
+    /**
+     * Removes all cached page models of a publication.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        final String prefix = publicationId + ":";
+        for (Iterator<String> i = cache.asMap().keySet().iterator(); i.hasNext(); ) {
+            if (i.next().startsWith(prefix)) {
+                i.remove();
+            }
+        }
+        LOG.debug("Removed cached page models of publication: {}", publicationId);
+    }
+
+    private boolean isEnabled() {
+        // Preview sessions may see content that differs from the published content
+        return enabled && !webRequestContext.isPreview();
+    }
+
+    private String getUrlPrefix() {
+        return webRequestContext.getBaseUrl() + webRequestContext.getContextPath();
+    }
+
+    private PageModel copy(CacheEntry entry) {
+        final PageModel copy = ModelCopyUtils.copyPageModel(entry.getPageModel());
+        final Map<String, String> meta = copy.getMeta();
+        if (meta == null) {
+            return copy;
+        }
+
+        // The Open Graph URL and image are absolute URLs that depend on the request that the page model was built for
+        if (meta.containsKey(OG_URL_META_NAME)) {
+            meta.put(OG_URL_META_NAME, webRequestContext.getFullUrl());
+        }
+        final String image = meta.get(OG_IMAGE_META_NAME);
+        if (image != null && image.startsWith(entry.getUrlPrefix())) {
+            meta.put(OG_IMAGE_META_NAME, getUrlPrefix() + image.substring(entry.getUrlPrefix().length()));
+        }
+        return copy;
+    }
+
+    private static final class CacheEntry {
+        private final WeakReference<Page> genericPage;
+        private final PageModel pageModel;
+        private final String urlPrefix;
+        private final boolean cacheable;
+
+        private final long created = System.currentTimeMillis();
+
+        private CacheEntry(Page genericPage, PageModel pageModel, String urlPrefix, boolean cacheable) {
+            this.genericPage = new WeakReference<>(genericPage);
+            this.pageModel = pageModel;
+            this.urlPrefix = urlPrefix;
+            this.cacheable = cacheable;
+        }
+
+        public long getAge() {
+            return System.currentTimeMillis() - created;
+        }
+
+        public Page getGenericPage() {
+            return genericPage.get();
+        }
+
+        public PageModel getPageModel() {
+            return pageModel;
+        }
+
+        public String getUrlPrefix() {
+            return urlPrefix;
+        }
+
+        public boolean isCacheable() {
+            return cacheable;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.sdl.webapp.tridion;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index of the URLs of the pages published in a publication.
+ * <p/>
+ * The URLs are stored in a trie of path segments, so that URLs that share a path (which is almost all of them) also
+ * share most of the memory. Lookups are case-insensitive, like the broker lookups they replace, and return the URL
+ * as it was published.
+ */
+final class PageUrlIndex {
+
+    private final Node root = new Node();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+
+    private static String[] split(String url) {
+        final String path = url.startsWith("/") ? url.substring(1) : url;
+        return path.toLowerCase(Locale.ROOT).split("/", -1);
+    }
+
+    /**
+     * Adds a page URL to the index.
+     *
+     * @param url The URL of the page.
+     */
+    public void add(String url) {
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (String segment : split(url)) {
+                Node child = node.getChild(segment);
+                if (child == null) {
+                    child = new Node();
+                    node.addChild(segment, child);
+                }
+                node = child;
+            }
+            if (node.url == null) {
+                size++;
+            }
+            node.url = url;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a page URL from the index.
+     *
+     * @param url The URL of the page.
+     */
+    public void remove(String url) {
+        lock.writeLock().lock();
+        try {
+            final Node node = find(url);
+            if (node != null && node.url != null) {
+                node.url = null;
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the URL of a page as it was published.
+     *
+     * @param url The URL to look for.
+     * @return The URL of the page as it was published, or {@code null} if there is no page with this URL.
+     */
+    public String get(String url) {
+        lock.readLock().lock();
+        try {
+            final Node node = find(url);
+            return node != null ? node.url : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node find(String url) {
+        Node node = root;
+        for (String segment : split(url)) {
+            node = node.getChild(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static final class Node {
+        // Most nodes are leaves, so the map of children is only created when it is needed
+        private Map<String, Node> children;
+        private String url;
+
+        private Node getChild(String segment) {
+            return children != null ? children.get(segment) : null;
+        }
+
+        private void addChild(String segment, Node child) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            children.put(segment, child);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.sdl.webapp.tridion;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.tridion.broker.StorageException;
+import com.tridion.broker.querying.Query;
+import com.tridion.broker.querying.criteria.Criteria;
+import com.tridion.broker.querying.criteria.content.ItemLastPublishedDateCriteria;
+import com.tridion.broker.querying.criteria.content.ItemTypeCriteria;
+import com.tridion.broker.querying.criteria.content.PublicationCriteria;
+import com.tridion.broker.querying.criteria.operators.AndCriteria;
+import com.tridion.meta.PageMeta;
+import com.tridion.meta.PageMetaFactory;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an in-memory index of the published page URLs of each publication, so that page existence checks and the
+ * resolution of the actual page URL (with or without "/index.html") do not need the broker.
+ * <p/>
+ * The index of a publication is built in the background when its localization is loaded; until it is complete,
+ * {@link #isAvailable(int)} returns {@code false} and callers fall back to asking the broker. After that, pages
+ * published since the previous synchronization are added periodically. Pages that turn out to be no longer
+ * published when they are fetched are removed with {@link #removePage(int, String)}.
+ * <p/>
+ * Since pages published since the last synchronization are not in the index yet, a URL that is not in the index is
+ * still looked up in the broker; the index only saves the broker lookups for pages that are published. Unpublished
+ * pages are not noticed by the synchronization. The index is disabled by default; set {@code pageIndexEnabled} to
+ * enable it.
+ */
+@Component
+public class PublishedPageIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PublishedPageIndex.class);
+
+    private static final int PAGE_ITEM_TYPE = 64;
+    private static final DateTimeFormatter BROKER_DATE_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final ConcurrentMap<Integer, IndexEntry> indexes = new ConcurrentHashMap<>();
+
+    @Value("#{environment.getProperty('pageIndexEnabled', 'false')}")
+    private boolean enabled;
+
+    @Value("#{environment.getProperty('pageIndexSyncInterval', '60')}")
+    private int syncInterval;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("dxa-page-index-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                synchronizeAll();
+            }
+        }, syncInterval, syncInterval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts building the index of a publication in the background, unless it already exists.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void load(final int publicationId) {
+        if (!enabled || indexes.containsKey(publicationId)) {
+            return;
+        }
+
+        final IndexEntry entry = new IndexEntry();
+        if (indexes.putIfAbsent(publicationId, entry) != null) {
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                build(publicationId, entry);
+            }
+        });
+    }
+
+    /**
+     * @param publicationId The publication ID.
+     * @return {@code true} if the index of the publication is complete and can be used, {@code false} otherwise.
+     */
+    public boolean isAvailable(int publicationId) {
+        final IndexEntry entry = indexes.get(publicationId);
+        return entry != null && entry.lastSynchronized != null;
+    }
+
+    /**
+     * Gets the URL of a page as it was published.
+     *
+     * @param publicationId The publication ID.
+     * @param url           The URL to look for.
+     * @return The URL of the page as it was published, or {@code null} if there is no such page or the index of the
+     * publication is not available.
+     */
+    public String getPageUrl(int publicationId, String url) {
+        final IndexEntry entry = indexes.get(publicationId);
+        return entry != null && entry.lastSynchronized != null ? entry.index.get(url) : null;
+    }
+
+    /**
+     * Removes a page that is no longer published from the index.
+     *
+     * @param publicationId The publication ID.
+     * @param url           The URL of the page.
+     */
+    public void removePage(int publicationId, String url) {
+        final IndexEntry entry = indexes.get(publicationId);
+        if (entry != null) {
+            LOG.debug("Removing unpublished page from index: [{}] {}", publicationId, url);
+            entry.index.remove(url);
+        }
+    }
+
+    /**
+     * Removes the index of a publication; it is built again when the localization is loaded again.
+     *
+     * @param publicationId The publication ID.
+     */
+    public void evict(String publicationId) {
+        if (indexes.remove(Integer.valueOf(publicationId)) != null) {
+            LOG.debug("Removed page index of publication: {}", publicationId);
+        }
+    }
+
+    private void build(int publicationId, IndexEntry entry) {
+        final DateTime started = DateTime.now();
+        try {
+            for (String url : queryPageUrls(publicationId, null)) {
+                entry.index.add(url);
+            }
+            entry.lastSynchronized = started;
+            LOG.info("Built page index of publication {}: {} pages", publicationId, entry.index.size());
+        } catch (StorageException e) {
+            LOG.error("Error while building page index of publication {}; falling back to broker lookups",
+                    publicationId, e);
+            indexes.remove(publicationId, entry);
+        }
+    }
+
+    private void synchronizeAll() {
+        for (Map.Entry<Integer, IndexEntry> item : indexes.entrySet()) {
+            final IndexEntry entry = item.getValue();
+            if (entry.lastSynchronized == null) {
+                continue;
+            }
+
+            final DateTime started = DateTime.now();
+            try {
+                // Look back a bit further than the previous synchronization to allow for clock differences
+                final List<String> urls = queryPageUrls(item.getKey(),
+                        entry.lastSynchronized.minusSeconds(syncInterval));
+                for (String url : urls) {
+                    entry.index.add(url);
+                }
+                entry.lastSynchronized = started;
+                LOG.trace("Synchronized page index of publication {}: {} pages published", item.getKey(), urls.size());
+            } catch (StorageException e) {
+                LOG.warn("Error while synchronizing page index of publication {}", item.getKey(), e);
+            }
+        }
+    }
+
+    private List<String> queryPageUrls(int publicationId, DateTime publishedSince) throws StorageException {
+        final List<Criteria> criteria = new ArrayList<>();
+        criteria.add(new PublicationCriteria(publicationId));
+        criteria.add(new ItemTypeCriteria(PAGE_ITEM_TYPE));
+        if (publishedSince != null) {
+            criteria.add(new ItemLastPublishedDateCriteria(BROKER_DATE_FORMAT.print(publishedSince),
+                    Criteria.GREATER_THAN_OR_EQUAL));
+        }
+
+        final Query query = new Query(new AndCriteria(criteria.toArray(new Criteria[criteria.size()])));
+        final String[] pageUris = query.executeQuery();
+
+        final PageMetaFactory pageMetaFactory = new PageMetaFactory(publicationId);
+        final List<String> urls = new ArrayList<>(pageUris.length);
+        for (String pageUri : pageUris) {
+            final PageMeta pageMeta = pageMetaFactory.getMeta(pageUri);
+            if (pageMeta != null && pageMeta.getURLPath() != null) {
+                urls.add(pageMeta.getURLPath());
+            }
+        }
+        return urls;
+    }
+
+    private static final class IndexEntry {
+        private final PageUrlIndex index = new PageUrlIndex();
+        private volatile DateTime lastSynchronized;
+    }
+}
@@ -9,9 +9,11 @@ import com.sdl.webapp.common.api.mapping.config.SemanticField;
 import com.sdl.webapp.common.api.model.entity.Link;
 import com.sdl.webapp.common.api.model.entity.MediaItem;
 import com.sdl.webapp.tridion.fieldconverters.ComponentLinkFieldConverter;
+import com.sdl.webapp.tridion.fieldconverters.FieldConverter;
 import com.sdl.webapp.tridion.fieldconverters.FieldConverterException;
 import com.sdl.webapp.tridion.fieldconverters.FieldConverterRegistry;
 import com.sdl.webapp.tridion.fieldconverters.FieldUtils;
+import com.sdl.webapp.tridion.fieldconverters.LazyFieldValueList;
 import com.sdl.webapp.tridion.fieldconverters.UnsupportedTargetTypeException;
 import org.dd4t.contentmodel.Component;
 import org.dd4t.contentmodel.Field;
@@ -24,11 +26,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider {
     private static final Logger LOG = LoggerFactory.getLogger(SemanticFieldDataProviderImpl.class);
@@ -40,7 +42,11 @@ public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider
 
     protected final ModelBuilderPipeline builder;
 
-    protected final Stack<Map<String, Field>> embeddedFieldsStack = new Stack<>();
+    /**
+     * The embedded fields of the embedding levels, innermost last. This is only used by the thread that maps an
+     * entity, so it does not need the synchronization of {@code java.util.Stack}.
+     */
+    protected final List<Map<String, Field>> embeddedFieldsStack = new ArrayList<>();
 
     protected int embeddingLevel = 0;
 
@@ -53,12 +59,12 @@ public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider
 
     public void pushEmbeddingLevel(Map<String, Field> embeddedFields) {
         embeddingLevel++;
-        embeddedFieldsStack.push(embeddedFields);
+        embeddedFieldsStack.add(embeddedFields);
     }
 
     public void popEmbeddingLevel() {
         embeddingLevel--;
-        embeddedFieldsStack.pop();
+        embeddedFieldsStack.remove(embeddedFieldsStack.size() - 1);
     }
 
     @Override
@@ -66,18 +72,16 @@ public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider
         LOG.trace("semanticField: {}, targetType: {}", semanticField, targetType);
 
         final Map<String, Field> fields;
-        FieldPath path = semanticField.getPath();
+        final int start;
 
         if (embeddingLevel > 0) {
-            // Embedded field: get the current set of embedded fields, cut embeddingLevel + 1 levels off of the path
-            fields = embeddedFieldsStack.peek();
-            for (int i = 0; i < embeddingLevel + 1 && path != null; i++) {
-                path = path.getTail();
-            }
+            // Embedded field: get the current set of embedded fields, skip embeddingLevel + 1 levels of the path
+            fields = embeddedFieldsStack.get(embeddedFieldsStack.size() - 1);
+            start = embeddingLevel + 1;
         } else {
             // Top-level field: look either in the metadata or the content of the component
-            fields = semanticEntity.getFields(path);
-            path = path.getTail();
+            fields = semanticEntity.getFields(semanticField.getPath());
+            start = 1;
         }
 
         if (CollectionUtils.isEmpty(fields)) {
@@ -85,19 +89,47 @@ public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider
             return null;
         }
 
-        final Field field = findField(path, fields);
+        final Field field = findField(semanticField.getPath().getSegments(), start, fields);
         if (field == null) {
             LOG.debug("No DD4T field found for: {}", semanticField);
             return null;
         }
         LOG.trace("Found DD4T field: [{}] {}", field.getFieldType(), field.getName());
 
-        final Object fieldValue = fieldConverterRegistry.getFieldConverterFor(field.getFieldType())
-                .getFieldValue(semanticField, (BaseField) field, targetType, this, this.builder);
+        final FieldConverter fieldConverter = fieldConverterRegistry.getFieldConverterFor(field.getFieldType());
+
+        final Object fieldValue;
+        if (embeddingLevel == 0 && fieldConverterRegistry.isLazyConversion(semanticField, field.getFieldType(), targetType)) {
+            // Only top-level fields are converted lazily, since the conversion of embedded fields depends on the
+            // current embedding level
+            fieldValue = new LazyFieldValueList(
+                    createLoader(fieldConverter, semanticField, (BaseField) field, targetType), this);
+        } else {
+            fieldValue = fieldConverter.getFieldValue(semanticField, (BaseField) field, targetType, this, this.builder);
+        }
 
         return new FieldData(fieldValue, field.getXPath());
     }
 
+    private LazyFieldValueList.Loader createLoader(final FieldConverter fieldConverter, final SemanticField semanticField,
+                                                   final BaseField field, final TypeDescriptor targetType) {
+        // The values are converted with the link path (and so the link depth) of the entity, not with the link path of
+        // the code that first accesses them
+        final List<String> linkPath = ComponentLinkFieldConverter.getLinkPath();
+        return new LazyFieldValueList.Loader() {
+            @Override
+            public List<?> load() throws FieldConverterException {
+                final List<String> previousLinkPath = ComponentLinkFieldConverter.setLinkPath(linkPath);
+                try {
+                    return (List<?>) fieldConverter.getFieldValue(semanticField, field, targetType,
+                            SemanticFieldDataProviderImpl.this, builder);
+                } finally {
+                    ComponentLinkFieldConverter.setLinkPath(previousLinkPath);
+                }
+            }
+        };
+    }
+
     @Override
     public Object getSelfFieldData(TypeDescriptor targetType) throws SemanticMappingException {
         final Class<?> targetClass = targetType.getObjectType();
@@ -155,25 +187,31 @@ public class SemanticFieldDataProviderImpl implements SemanticFieldDataProvider
     }
 
     protected Field findField(FieldPath path, Map<String, Field> fields) {
-        if (path == null) {
-            return null;
-        }
+        return path != null ? findField(path.getSegments(), 0, fields) : null;
+    }
 
-        final Field field = fields.get(path.getHead());
-        if (!path.hasTail() || field == null) {
-            return field;
-        }
+    /**
+     * Finds the field for a path, starting at the given segment of the path. Fields on the path before the last one
+     * must be embedded fields; their first value is followed.
+     */
+    private static Field findField(List<String> segments, int start, Map<String, Field> fields) {
+        Map<String, Field> currentFields = fields;
+        for (int i = start; i < segments.size(); i++) {
+            final Field field = currentFields.get(segments.get(i));
+            if (i == segments.size() - 1 || field == null) {
+                return field;
+            }
 
-        if (field.getFieldType() == FieldType.EMBEDDED) {
+            if (field.getFieldType() != FieldType.EMBEDDED) {
+                return null;
+            }
             final List<FieldSet> embeddedValues = ((BaseField) field).getEmbeddedValues();
-            if (embeddedValues != null && !embeddedValues.isEmpty()) {
-                return findField(path.getTail(), embeddedValues.get(0).getContent());
-            } else {
+            if (embeddedValues == null || embeddedValues.isEmpty()) {
                 return null;
             }
-        } else {
-            return null;
+            currentFields = embeddedValues.get(0).getContent();
         }
+        return null;
     }
 
     public interface SemanticEntity {
@@ -29,9 +29,31 @@ public class TridionLocalizationResolver implements LocalizationResolver {
 
     private final LocalizationFactory localizationFactory;
 
+    private final PageModelCache pageModelCache;
+
+    private final MissingPageCache missingPageCache;
+
+    private final PublishedPageIndex publishedPageIndex;
+
+    private final IncludePageRegionCache includePageRegionCache;
+
+    private final EntityModelCache entityModelCache;
+
+    private final NavigationModelCache navigationModelCache;
+
     @Autowired
-    public TridionLocalizationResolver(LocalizationFactory localizationFactory) {
+    public TridionLocalizationResolver(LocalizationFactory localizationFactory, PageModelCache pageModelCache,
+                                       MissingPageCache missingPageCache, PublishedPageIndex publishedPageIndex,
+                                       IncludePageRegionCache includePageRegionCache,
+                                       EntityModelCache entityModelCache,
+                                       NavigationModelCache navigationModelCache) {
         this.localizationFactory = localizationFactory;
+        this.pageModelCache = pageModelCache;
+        this.missingPageCache = missingPageCache;
+        this.publishedPageIndex = publishedPageIndex;
+        this.includePageRegionCache = includePageRegionCache;
+        this.entityModelCache = entityModelCache;
+        this.navigationModelCache = navigationModelCache;
     }
 
     @Override
@@ -68,6 +90,12 @@ public class TridionLocalizationResolver implements LocalizationResolver {
         }
         synchronized (localizations) {
             String localizationId = localization.getId();
+            pageModelCache.evict(localizationId);
+            missingPageCache.evict(localizationId);
+            publishedPageIndex.evict(localizationId);
+            includePageRegionCache.evict(localizationId);
+            entityModelCache.evict(localizationId);
+            navigationModelCache.evict(localizationId);
             if (localizations.remove(localizationId) != null) {
                 LOG.debug("Removed cached localization with id: {}", localizationId);
                 return true;
@@ -85,7 +113,11 @@ public class TridionLocalizationResolver implements LocalizationResolver {
         final String path = getPublicationMappingPath(publicationMapping);
 
         try {
-            return localizationFactory.createLocalization(id, path);
+            final Localization localization = localizationFactory.createLocalization(id, path);
+            if (!localization.isStaging()) {
+                publishedPageIndex.load(publicationMapping.getPublicationId());
+            }
+            return localization;
         } catch (LocalizationFactoryException e) {
             throw new LocalizationResolverException("Exception while creating localization: [" + id + "] " + path, e);
         }
@@ -10,26 +10,84 @@ import com.sdl.webapp.common.api.model.entity.Link;
 import com.sdl.webapp.tridion.ModelBuilderPipeline;
 import org.dd4t.contentmodel.FieldType;
 import org.dd4t.contentmodel.impl.BaseField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class ComponentLinkFieldConverter extends AbstractFieldConverter {
+    private static final Logger LOG = LoggerFactory.getLogger(ComponentLinkFieldConverter.class);
 
     private static final FieldType[] SUPPORTED_FIELD_TYPES = {FieldType.COMPONENTLINK, FieldType.MULTIMEDIALINK};
 
+    private static final String LINKED_ENTITIES_ATTRIBUTE = ComponentLinkFieldConverter.class.getName() + ".linkedEntities";
+
+    /**
+     * Marks a linked component for which no entity of the requested type could be created.
+     */
+    private static final Object NO_ENTITY = new Object();
+
+    /**
+     * The IDs of the linked components that are being followed on the current thread to get to the entity that is being
+     * created; the number of IDs is the link depth.
+     */
+    private static final ThreadLocal<LinkedHashSet<String>> LINK_PATH = new ThreadLocal<LinkedHashSet<String>>() {
+        @Override
+        protected LinkedHashSet<String> initialValue() {
+            return new LinkedHashSet<>();
+        }
+    };
+
     private final LinkResolver linkResolver;
     private final WebRequestContext webRequestContext;
 
+    /**
+     * The maximum number of component links that are followed to create linked entities; {@code 0} means that there is
+     * no maximum.
+     */
+    @Value("#{environment.getProperty('componentLinkMaxDepth', '0')}")
+    private int maxLinkDepth;
+
     @Autowired
     public ComponentLinkFieldConverter(LinkResolver linkResolver, WebRequestContext webRequestContext) {
         this.linkResolver = linkResolver;
         this.webRequestContext = webRequestContext;
     }
 
+    /**
+     * Gets the IDs of the linked components that are being followed on the current thread.
+     *
+     * @return A copy of the link path.
+     */
+    public static List<String> getLinkPath() {
+        return new ArrayList<>(LINK_PATH.get());
+    }
+
+    /**
+     * Sets the IDs of the linked components that are being followed on the current thread. This is used to restore the
+     * link path when field values that were created at some link depth are converted later, lazily.
+     *
+     * @param linkPath The link path.
+     * @return The previous link path.
+     */
+    public static List<String> setLinkPath(List<String> linkPath) {
+        final LinkedHashSet<String> current = LINK_PATH.get();
+        final List<String> previous = new ArrayList<>(current);
+        current.clear();
+        current.addAll(linkPath);
+        return previous;
+    }
+
     @Override
     public FieldType[] supportedFieldTypes() {
         return SUPPORTED_FIELD_TYPES;
@@ -83,31 +141,98 @@ public class ComponentLinkFieldConverter extends AbstractFieldConverter {
             link.setUrl(url);
             return link;
         } else if (AbstractEntityModel.class.isAssignableFrom(targetClass)) {
-            Localization localization = this.webRequestContext.getLocalization();
+            return getLinkedEntity(component, targetClass, builder);
+        } else {
+            throw new UnsupportedTargetTypeException(targetClass);
+        }
+    }
+
+    /**
+     * Gets the entity for a linked component. Within a request, the entity for a component is only created once for
+     * each link depth and target class, and then shared by all entities that link to it. The link depth is part of
+     * this, because a component that is linked from a linked component contains fewer levels of linked components.
+     * A link back to a component that is already being followed is not followed again, so cyclic link graphs are
+     * bounded; if a maximum link depth is configured, links are not followed beyond it either.
+     */
+    private Object getLinkedEntity(org.dd4t.contentmodel.Component component, Class<?> targetClass,
+                                   ModelBuilderPipeline builder) throws SemanticMappingException {
+        final LinkedHashSet<String> linkPath = LINK_PATH.get();
+        if (linkPath.contains(component.getId())) {
+            LOG.debug("Component links back to itself, not creating entity for linked component: {}",
+                    component.getId());
+            return null;
+        }
+        final int linkDepth = linkPath.size();
+        if (maxLinkDepth > 0 && linkDepth >= maxLinkDepth) {
+            LOG.debug("Maximum link depth {} reached, not creating entity for linked component: {}", maxLinkDepth,
+                    component.getId());
+            return null;
+        }
 
+        final ConcurrentMap<String, Object> linkedEntities = getLinkedEntities();
+        final String key = component.getRevisionDate() != null ? component.getId() + "@" +
+                component.getRevisionDate().getMillis() + ":" + linkDepth + ":" + targetClass.getName() : null;
+        if (linkedEntities != null && key != null) {
+            final Object linkedEntity = linkedEntities.get(key);
+            if (linkedEntity != null) {
+                return linkedEntity != NO_ENTITY ? linkedEntity : null;
+            }
+        }
 
+        final Object entity;
+        linkPath.add(component.getId());
+        try {
+            entity = createLinkedEntity(component, targetClass, builder);
+        } finally {
+            linkPath.remove(component.getId());
+        }
+
+        if (linkedEntities != null && key != null) {
+            linkedEntities.putIfAbsent(key, entity != null ? entity : NO_ENTITY);
+        }
+        return entity;
+    }
+
+    private Object createLinkedEntity(org.dd4t.contentmodel.Component component, Class<?> targetClass,
+                                      ModelBuilderPipeline builder) throws SemanticMappingException {
+        Localization localization = this.webRequestContext.getLocalization();
+
+        try {
+            Object retval = builder.createEntityModel(component, localization);
+            if (targetClass.isAssignableFrom(retval.getClass())) {
+                return retval;
+            } else {
+                return null;
+            }
+
+        } catch (ContentProviderException e) {
+
+            // Try to map using model field type
+            //
             try {
-                Object retval = builder.createEntityModel(component, localization);
-                if (targetClass.isAssignableFrom(retval.getClass())) {
-                    return retval;
-                } else {
-                    return null;
-                }
+                Object retval = builder.createEntityModel(component, localization, (Class<AbstractEntityModel>) targetClass);
+                return retval;
+            } catch (ContentProviderException e2) {
+                throw new SemanticMappingException(e);
+            }
+        }
+    }
 
-            } catch (ContentProviderException e) {
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, Object> getLinkedEntities() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
 
-                // Try to map using model field type
-                //
-                try {
-                    Object retval = builder.createEntityModel(component, localization, (Class<AbstractEntityModel>) targetClass);
-                    return retval;
-                } catch (ContentProviderException e2) {
-                    throw new SemanticMappingException(e);
-                }
+        synchronized (requestAttributes) {
+            ConcurrentMap<String, Object> linkedEntities = (ConcurrentMap<String, Object>)
+                    requestAttributes.getAttribute(LINKED_ENTITIES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (linkedEntities == null) {
+                linkedEntities = new ConcurrentHashMap<>();
+                requestAttributes.setAttribute(LINKED_ENTITIES_ATTRIBUTE, linkedEntities, RequestAttributes.SCOPE_REQUEST);
             }
-            //        	return semanticMapper.createEntity(targetClass.asSubclass(AbstractEntityModel.class), semanticSchema.getSemanticFields(), new DD4TSemanticFieldDataProvider(component, fieldConverterRegistry));
-        } else {
-            throw new UnsupportedTargetTypeException(targetClass);
+            return linkedEntities;
         }
     }
 }
@@ -1,18 +1,33 @@
 package com.sdl.webapp.tridion.fieldconverters;
 
+import com.google.common.collect.ImmutableSet;
+import com.sdl.webapp.common.api.mapping.config.SemanticField;
 import org.dd4t.contentmodel.FieldType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 public class FieldConverterRegistry {
 
+    /**
+     * Field types that are expensive to convert: rich text is processed, and component links and embedded fields
+     * create entities.
+     */
+    private static final Set<FieldType> LAZY_FIELD_TYPES = ImmutableSet.of(FieldType.XHTML, FieldType.COMPONENTLINK,
+            FieldType.MULTIMEDIALINK, FieldType.EMBEDDED);
+
     private final Map<FieldType, FieldConverter> fieldConverters = new HashMap<>();
 
+    @Value("#{environment.getProperty('lazyFieldConversionEnabled', 'false')}")
+    private boolean lazyConversionEnabled;
+
     @Autowired
     public FieldConverterRegistry(List<FieldConverter> fieldConverterList) {
         for (FieldConverter fieldConverter : fieldConverterList) {
@@ -30,4 +45,19 @@ public class FieldConverterRegistry {
 
         return fieldConverter;
     }
+
+    /**
+     * Checks if the values of a field should be converted lazily, that is when they are first accessed instead of when
+     * the entity is created. This is only done if enabled, for multi-value fields of an expensive type that are mapped
+     * to a field of the entity that can hold a {@code LazyFieldValueList}.
+     *
+     * @param semanticField The semantic field.
+     * @param fieldType     The type of the field.
+     * @param targetType    The type of the field of the entity.
+     * @return {@code true} if the values of the field should be converted lazily, {@code false} otherwise.
+     */
+    public boolean isLazyConversion(SemanticField semanticField, FieldType fieldType, TypeDescriptor targetType) {
+        return lazyConversionEnabled && semanticField.isMultiValue() && LAZY_FIELD_TYPES.contains(fieldType) &&
+                targetType.isCollection() && targetType.getType().isAssignableFrom(LazyFieldValueList.class);
+    }
 }
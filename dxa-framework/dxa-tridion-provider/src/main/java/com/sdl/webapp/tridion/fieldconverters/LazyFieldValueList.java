@@ -0,0 +1,174 @@
+package com.sdl.webapp.tridion.fieldconverters;
+
+import com.sdl.webapp.common.api.model.EntityModel;
+import com.sdl.webapp.common.api.model.PageModel;
+import com.sdl.webapp.common.api.model.RegionModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * List of field values that are only converted when the list is first accessed. The converted values are remembered,
+ * so the conversion is done at most once.
+ * <p/>
+ * This is used for multi-value fields that are expensive to convert (rich text, component links and embedded fields),
+ * so that values that are never rendered are never converted. If the conversion fails, the error is logged and the
+ * list is empty, in the same way as a field that could not be mapped is left empty.
+ * <p/>
+ * The conversion uses the state of the request in which the list is first accessed (for example the localization), so
+ * a model must not be shared with other requests while it contains lists that have not been converted yet. Caches
+ * call {@link #convertAll(Object)} before they store a model.
+ */
+public final class LazyFieldValueList extends AbstractList<Object> implements RandomAccess, Serializable {
+    private static final Logger LOG = LoggerFactory.getLogger(LazyFieldValueList.class);
+
+    private final transient Object lock;
+
+    private transient Loader loader;
+
+    private volatile List<Object> values;
+
+    /**
+     * Creates a lazy list of field values.
+     *
+     * @param loader The loader that converts the field values.
+     * @param lock   The object to synchronize the conversion on; this must be the object that holds the state that the
+     *               conversion depends on, for example the field data provider.
+     */
+    public LazyFieldValueList(Loader loader, Object lock) {
+        this.loader = loader;
+        this.lock = lock;
+    }
+
+    @Override
+    public Object get(int index) {
+        return getValues().get(index);
+    }
+
+    @Override
+    public int size() {
+        return getValues().size();
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return getValues().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        getValues().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        final Object element = getValues().remove(index);
+        modCount++;
+        return element;
+    }
+
+    /**
+     * Checks if the field values have been converted.
+     *
+     * @return {@code true} if the field values have been converted, {@code false} otherwise.
+     */
+    public boolean isLoaded() {
+        return values != null;
+    }
+
+    /**
+     * Converts the field values of all lazy lists in a model, including the lists of linked and embedded entities.
+     *
+     * @param model The model: a page model, region model or entity model.
+     */
+    public static void convertAll(Object model) {
+        convertAll(model, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+    }
+
+    private static void convertAll(Object value, Set<Object> visited) {
+        if (value == null || !visited.add(value)) {
+            return;
+        }
+
+        if (value instanceof LazyFieldValueList) {
+            convertAll(((LazyFieldValueList) value).getValues(), visited);
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                convertAll(element, visited);
+            }
+        } else if (value instanceof Map) {
+            convertAll(((Map<?, ?>) value).values(), visited);
+        } else if (value instanceof PageModel) {
+            convertAll(((PageModel) value).getRegions(), visited);
+        } else if (value instanceof RegionModel) {
+            convertAll(((RegionModel) value).getEntities(), visited);
+            convertAll(((RegionModel) value).getRegions(), visited);
+        } else if (value instanceof EntityModel) {
+            convertFields(value, visited);
+        }
+    }
+
+    private static void convertFields(final Object entity, final Set<Object> visited) {
+        ReflectionUtils.doWithFields(entity.getClass(), new ReflectionUtils.FieldCallback() {
+            @Override
+            public void doWith(Field field) {
+                ReflectionUtils.makeAccessible(field);
+                convertAll(ReflectionUtils.getField(field, entity), visited);
+            }
+        }, new ReflectionUtils.FieldFilter() {
+            @Override
+            public boolean matches(Field field) {
+                return !Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive();
+            }
+        });
+    }
+
+    private List<Object> getValues() {
+        List<Object> result = values;
+        if (result == null) {
+            synchronized (lock) {
+                result = values;
+                if (result == null) {
+                    result = new ArrayList<>();
+                    try {
+                        final List<?> loaded = loader.load();
+                        if (loaded != null) {
+                            result.addAll(loaded);
+                        }
+                    } catch (FieldConverterException e) {
+                        LOG.error("Exception while converting field values", e);
+                    }
+                    values = result;
+                    // The source fields are not needed anymore
+                    loader = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(getValues());
+    }
+
+    /**
+     * Converts the field values.
+     */
+    public interface Loader {
+        List<?> load() throws FieldConverterException;
+    }
+}
@@ -0,0 +1,65 @@
+package com.sdl.webapp.tridion;
+
+import com.sdl.webapp.common.api.localization.Localization;
+import com.sdl.webapp.common.api.model.AnchoredLinkFragment;
+import com.sdl.webapp.common.api.model.RichText;
+import com.sdl.webapp.common.api.model.RichTextFragment;
+import org.dd4t.core.factories.ComponentPresentationFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class DefaultRichTextProcessorTest {
+
+    private static final String ANCHORED_LINK = "<p>See <a xmlns:xlink=\"http://www.w3.org/1999/xlink\" " +
+            "xlink:href=\"tcm:1-2\" href=\"/about\" target=\"anchored\" title=\"Our Team\">our team</a>.</p>";
+
+    private DefaultRichTextProcessor richTextProcessor;
+
+    private static String render(RichText richText, String currentPageUrl) {
+        StringBuilder html = new StringBuilder();
+        for (RichTextFragment fragment : richText.getFragments()) {
+            html.append(fragment instanceof AnchoredLinkFragment ?
+                    ((AnchoredLinkFragment) fragment).toHtml(currentPageUrl) : fragment.toHtml());
+        }
+        return html.toString();
+    }
+
+    @Before
+    public void setUp() {
+        richTextProcessor = new DefaultRichTextProcessor();
+        ReflectionTestUtils.setField(richTextProcessor, "componentFactory", mock(ComponentPresentationFactory.class));
+    }
+
+    @Test
+    public void shouldResolveAnchoredLinkForEachPageThatRendersTheSameRichText() {
+        //given
+        RichText richText = richTextProcessor.processRichText(ANCHORED_LINK, mock(Localization.class));
+
+        //when
+        String onLinkedPage = render(richText, "/about");
+        String onOtherPage = render(richText, "/contact");
+
+        //then
+        assertTrue(onLinkedPage, onLinkedPage.startsWith("<p>See <a href=\"#our_team\" target=\"\""));
+        assertTrue(onOtherPage, onOtherPage.startsWith("<p>See <a href=\"/about#our_team\" target=\"_top\""));
+        assertTrue(onOtherPage, onOtherPage.endsWith(">our team</a>.</p>"));
+    }
+
+    @Test
+    public void shouldLinkToOtherPageWhenRenderedWithoutRequest() {
+        //given
+        RichText richText = richTextProcessor.processRichText(ANCHORED_LINK, mock(Localization.class));
+
+        //when
+        String html = richText.toString();
+
+        //then
+        assertEquals(render(richText, null), html);
+        assertTrue(html, html.contains("href=\"/about#our_team\" target=\"_top\""));
+    }
+}
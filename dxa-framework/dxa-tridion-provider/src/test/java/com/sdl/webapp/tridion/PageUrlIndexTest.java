@@ -0,0 +1,78 @@
+package com.sdl.webapp.tridion;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PageUrlIndexTest {
+
+    @Test
+    public void shouldFindUrlAsItWasPublishedIgnoringCase() {
+        //given
+        PageUrlIndex index = new PageUrlIndex();
+        index.add("/About/Index.html");
+
+        //when
+        String url = index.get("/about/index.html");
+
+        //then
+        assertEquals("/About/Index.html", url);
+    }
+
+    @Test
+    public void shouldNotFindPrefixesOfPublishedUrls() {
+        //given
+        PageUrlIndex index = new PageUrlIndex();
+        index.add("/about/team/index.html");
+
+        //when
+        //then
+        assertNull(index.get("/about"));
+        assertNull(index.get("/about/team"));
+        assertNull(index.get("/about/team/"));
+        assertNull(index.get("/about/team/index"));
+    }
+
+    @Test
+    public void shouldTreatLeadingSlashAsOptional() {
+        //given
+        PageUrlIndex index = new PageUrlIndex();
+        index.add("/index.html");
+
+        //when
+        //then
+        assertEquals("/index.html", index.get("index.html"));
+    }
+
+    @Test
+    public void shouldCountEachUrlOnce() {
+        //given
+        PageUrlIndex index = new PageUrlIndex();
+
+        //when
+        index.add("/index.html");
+        index.add("/index.html");
+        index.add("/about/index.html");
+
+        //then
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void shouldRemoveUrlButKeepUrlsBelowIt() {
+        //given
+        PageUrlIndex index = new PageUrlIndex();
+        index.add("/about.html");
+        index.add("/about/index.html");
+
+        //when
+        index.remove("/About/Index.html");
+        index.remove("/unknown.html");
+
+        //then
+        assertNull(index.get("/about/index.html"));
+        assertEquals("/about.html", index.get("/about.html"));
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.sdl.webapp.tridion.fieldconverters;
+
+import com.sdl.webapp.common.api.model.entity.AbstractEntityModel;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LazyFieldValueListTest {
+
+    private static LazyFieldValueList lazyList(final Object... values) {
+        return new LazyFieldValueList(new LazyFieldValueList.Loader() {
+            @Override
+            public List<?> load() {
+                return Arrays.asList(values);
+            }
+        }, new Object());
+    }
+
+    @Test
+    public void shouldConvertWhenFirstAccessed() {
+        //given
+        LazyFieldValueList list = lazyList("a", "b");
+
+        //when
+        boolean loadedBefore = list.isLoaded();
+        int size = list.size();
+
+        //then
+        assertFalse(loadedBefore);
+        assertTrue(list.isLoaded());
+        assertEquals(2, size);
+    }
+
+    @Test
+    public void shouldConvertListsOfLinkedEntities() {
+        //given
+        TestEntity linked = new TestEntity();
+        linked.links = lazyList("a");
+        TestEntity entity = new TestEntity();
+        entity.links = lazyList(linked);
+
+        //when
+        LazyFieldValueList.convertAll(Collections.singletonList(entity));
+
+        //then
+        assertTrue(((LazyFieldValueList) entity.links).isLoaded());
+        assertTrue(((LazyFieldValueList) linked.links).isLoaded());
+    }
+
+    private static class TestEntity extends AbstractEntityModel {
+        private List<Object> links;
+    }
+}